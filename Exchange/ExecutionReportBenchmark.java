@@ -0,0 +1,283 @@
+package Exchange;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import Modules.Order;
+import Modules.Order.OrderStatus;
+import utilitis.ConsoleLogger;
+
+/**
+ * Replays a recorded execution-report fixture through ExecutionReportParser
+ * and through Jackson (ObjectMapper.readTree plus the same field lookups),
+ * checks both leave the orders in the same state, then compares time and
+ * allocation per message.
+ *
+ * Jackson is not a dependency of this project, so it is loaded reflectively
+ * from the classpath; without it only the streaming parser is measured.
+ *
+ * Usage:
+ *   ExecutionReportBenchmark [fixture.jsonl]    defaults to fixtures/execution_reports.jsonl
+ *   e.g. java -cp out:jackson-databind.jar:jackson-core.jar:jackson-annotations.jar Exchange.ExecutionReportBenchmark
+ */
+public final class ExecutionReportBenchmark {
+    private ExecutionReportBenchmark() {}
+
+    private static final String DEFAULT_FIXTURE = "fixtures/execution_reports.jsonl";
+    private static final int WARMUP_PASSES = 50_000;
+    private static final int MEASURED_PASSES = 200_000;
+
+    public static void main(String[] args) throws Exception {
+        Path fixture = Paths.get(args.length > 0 ? args[0] : DEFAULT_FIXTURE);
+        List<byte[]> messages = new ArrayList<>();
+        for (String line : Files.readAllLines(fixture, StandardCharsets.UTF_8)) {
+            if (!line.isBlank()) {
+                messages.add(line.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        ConsoleLogger.info("loaded " + messages.size() + " messages from " + fixture, "[exec-report]");
+
+        LiveOrderIndex streamingOrders = new LiveOrderIndex();
+        Map<String, Order> jacksonOrders = new HashMap<>();
+        trackOrders(messages, streamingOrders, jacksonOrders);
+
+        ExecutionReportParser parser = new ExecutionReportParser(streamingOrders);
+        JacksonBaseline jackson = JacksonBaseline.load();
+        if (jackson == null) {
+            ConsoleLogger.warning("jackson-databind is not on the classpath, skipping the Jackson baseline", "[exec-report]");
+        }
+
+        streamingPass(parser, messages);
+        if (jackson != null) {
+            jackson.pass(jacksonOrders, messages);
+        }
+        verify(streamingOrders, jacksonOrders, jackson != null);
+
+        for (int i = 0; i < WARMUP_PASSES; i++) {
+            streamingPass(parser, messages);
+            if (jackson != null) {
+                jackson.pass(jacksonOrders, messages);
+            }
+        }
+
+        long totalMessages = (long) MEASURED_PASSES * messages.size();
+        report("streaming", measure(() -> streamingPass(parser, messages)), totalMessages);
+        if (jackson != null) {
+            report("jackson  ", measure(() -> jackson.pass(jacksonOrders, messages)), totalMessages);
+        }
+    }
+
+    /**
+     * Creates one order per client order id seen in the fixture, for both parsers
+     */
+    private static void trackOrders(List<byte[]> messages, LiveOrderIndex streamingOrders,
+                                    Map<String, Order> jacksonOrders) {
+        ExecutionReportParser scanner = new ExecutionReportParser(streamingOrders);
+        for (byte[] message : messages) {
+            if (!scanner.parse(message, 0, message.length)) {
+                continue;
+            }
+            String clientOrderId = scanner.getClientOrderId();
+            if (jacksonOrders.containsKey(clientOrderId)) {
+                continue;
+            }
+            streamingOrders.put(new Order.Builder().newClientOrderId(clientOrderId).build());
+            jacksonOrders.put(clientOrderId, new Order.Builder().newClientOrderId(clientOrderId).build());
+        }
+    }
+
+    private static void streamingPass(ExecutionReportParser parser, List<byte[]> messages) {
+        for (int i = 0; i < messages.size(); i++) {
+            byte[] message = messages.get(i);
+            parser.apply(message, 0, message.length);
+        }
+    }
+
+    // Same mapping as the streaming parser: EXPIRED_IN_MATCH is EXPIRED, anything else unknown keeps the old status
+    private static OrderStatus baselineStatus(String status) {
+        if ("EXPIRED_IN_MATCH".equals(status)) {
+            return OrderStatus.EXPIRED;
+        }
+        for (OrderStatus value : OrderStatus.values()) {
+            if (value.name().equals(status)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Logs the final state of every order, failing if Jackson is present and disagrees
+     */
+    private static void verify(LiveOrderIndex streamingOrders, Map<String, Order> jacksonOrders, boolean compare) {
+        for (Map.Entry<String, Order> entry : jacksonOrders.entrySet()) {
+            Order expected = entry.getValue();
+            Order actual = streamingOrders.get(entry.getKey());
+            boolean same = actual != null
+                && expected.getStatus() == actual.getStatus()
+                && Objects.equals(expected.getOrderId(), actual.getOrderId())
+                && Objects.equals(expected.getExecutedQty(), actual.getExecutedQty())
+                && Objects.equals(expected.getCummulativeQuoteQty(), actual.getCummulativeQuoteQty());
+            if (compare && !same) {
+                throw new IllegalStateException("parsers disagree on " + entry.getKey()
+                    + ": expected " + expected + " got " + actual);
+            }
+            ConsoleLogger.info(entry.getKey() + " -> " + actual.getStatus() + " executedQty="
+                + actual.getExecutedQty() + " cummulativeQuoteQty=" + actual.getCummulativeQuoteQty(), "[exec-report]");
+        }
+    }
+
+    /**
+     * @return {elapsed nanos, allocated bytes} for MEASURED_PASSES runs
+     */
+    private static long[] measure(Runnable pass) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long allocatedBefore = allocatedBytes(threads);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_PASSES; i++) {
+            pass.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes(threads) - allocatedBefore;
+        return new long[] {elapsed, allocated};
+    }
+
+    private static long allocatedBytes(ThreadMXBean threads) {
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+
+    private static void report(String name, long[] result, long messages) {
+        ConsoleLogger.info(String.format("%s %8.1f ns/msg %10.1f bytes/msg",
+            name, (double) result[0] / messages, (double) result[1] / messages), "[exec-report]");
+    }
+
+    /**
+     * Jackson tree parse through method handles, so the project builds without it
+     * Mirrors what application code would do: readTree, unwrap, then get() each field
+     */
+    private static final class JacksonBaseline {
+        private final Object mapper;
+        private final MethodHandle readTree;
+        private final MethodHandle get;
+        private final MethodHandle isObject;
+        private final MethodHandle isTextual;
+        private final MethodHandle isNumber;
+        private final MethodHandle textValue;
+        private final MethodHandle longValue;
+
+        private JacksonBaseline(Class<?> mapperType, Class<?> nodeType) throws ReflectiveOperationException {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            this.mapper = mapperType.getConstructor().newInstance();
+            this.readTree = lookup.findVirtual(mapperType, "readTree", MethodType.methodType(nodeType, byte[].class))
+                .asType(MethodType.methodType(Object.class, Object.class, byte[].class));
+            this.get = lookup.findVirtual(nodeType, "get", MethodType.methodType(nodeType, String.class))
+                .asType(MethodType.methodType(Object.class, Object.class, String.class));
+            this.isObject = predicate(lookup, nodeType, "isObject");
+            this.isTextual = predicate(lookup, nodeType, "isTextual");
+            this.isNumber = predicate(lookup, nodeType, "isNumber");
+            this.textValue = lookup.findVirtual(nodeType, "textValue", MethodType.methodType(String.class))
+                .asType(MethodType.methodType(String.class, Object.class));
+            this.longValue = lookup.findVirtual(nodeType, "longValue", MethodType.methodType(long.class))
+                .asType(MethodType.methodType(long.class, Object.class));
+        }
+
+        /**
+         * @return The baseline, or null if jackson-databind is not on the classpath
+         */
+        static JacksonBaseline load() throws ReflectiveOperationException {
+            try {
+                return new JacksonBaseline(Class.forName("com.fasterxml.jackson.databind.ObjectMapper"),
+                    Class.forName("com.fasterxml.jackson.databind.JsonNode"));
+            } catch (ClassNotFoundException | NoClassDefFoundError e) {
+                return null;
+            }
+        }
+
+        private static MethodHandle predicate(MethodHandles.Lookup lookup, Class<?> nodeType, String name)
+                throws ReflectiveOperationException {
+            return lookup.findVirtual(nodeType, name, MethodType.methodType(boolean.class))
+                .asType(MethodType.methodType(boolean.class, Object.class));
+        }
+
+        void pass(Map<String, Order> orders, List<byte[]> messages) {
+            try {
+                for (int i = 0; i < messages.size(); i++) {
+                    apply(orders, messages.get(i));
+                }
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException("jackson failed to parse the fixture", t);
+            }
+        }
+
+        private void apply(Map<String, Order> orders, byte[] message) throws Throwable {
+            Object report = (Object) readTree.invokeExact(mapper, message);
+            Object wrapped = field(report, "data");
+            if (wrapped == null) {
+                wrapped = field(report, "event");
+            }
+            if (wrapped != null) {
+                report = wrapped;
+            }
+            if (!"executionReport".equals(text(report, "e"))) {
+                return;
+            }
+            String clientOrderId = text(report, "C");
+            if (clientOrderId == null || clientOrderId.isEmpty()) {
+                clientOrderId = text(report, "c");
+            }
+            Order order = clientOrderId != null ? orders.get(clientOrderId) : null;
+            if (order == null) {
+                return;
+            }
+            String status = text(report, "X");
+            OrderStatus mapped = status != null ? baselineStatus(status) : null;
+            if (mapped != null) {
+                order.setStatus(mapped);
+            }
+            Object orderId = (Object) get.invokeExact(report, "i");
+            if (orderId != null && (boolean) isNumber.invokeExact(orderId)) {
+                long value = (long) longValue.invokeExact(orderId);
+                if (value >= 0) {
+                    order.setOrderId(value);
+                }
+            }
+            String executedQty = text(report, "z");
+            if (executedQty != null) {
+                order.setExecutedQty(Double.parseDouble(executedQty));
+            }
+            String quoteQty = text(report, "Z");
+            if (quoteQty != null) {
+                order.setCummulativeQuoteQty(Double.parseDouble(quoteQty));
+            }
+        }
+
+        // Child object node, or null if absent or not an object
+        private Object field(Object node, String name) throws Throwable {
+            Object child = (Object) get.invokeExact(node, name);
+            return child != null && (boolean) isObject.invokeExact(child) ? child : null;
+        }
+
+        // Text of a string child, or null if absent or not a string
+        private String text(Object node, String name) throws Throwable {
+            Object child = (Object) get.invokeExact(node, name);
+            return child != null && (boolean) isTextual.invokeExact(child) ? (String) textValue.invokeExact(child) : null;
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package Exchange;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import Modules.Order;
+import Modules.Order.OrderStatus;
+
+/**
+ * Streaming parser for Binance "executionReport" user-data events
+ *
+ * Scans the raw JSON bytes once, parses the fields it needs straight into
+ * primitives and matches the status against pre-encoded enum names, so a
+ * report is parsed without allocating. Wrapped payloads ({"stream":..,
+ * "data":{..}} or {"event":{..}}) are handled since keys are matched at any
+ * depth.
+ *
+ * Fields used:
+ *   e  event type, must be "executionReport" when present
+ *   c  client order id of this request
+ *   C  original client order id (set on cancels, takes precedence over c)
+ *   X  current order status, EXPIRED_IN_MATCH (self-trade prevention) maps to
+ *      EXPIRED; values OrderStatus lacks, such as PENDING_NEW, leave the order's
+ *      status as it was and are counted, see hasUnknownStatus()
+ *   i  order id
+ *   z  cumulative filled quantity    -> Order.executedQty
+ *   Z  cumulative quote quantity     -> Order.cummulativeQuoteQty
+ *
+ * Client order ids are matched on their raw bytes; Binance restricts them to
+ * [.A-Z:/a-z0-9_-], so they never contain JSON escapes.
+ *
+ * One instance per thread; the parsed values are overwritten on every call.
+ */
+public final class ExecutionReportParser {
+    private static final byte[] EXECUTION_REPORT = "executionReport".getBytes(StandardCharsets.US_ASCII);
+
+    // Every OrderStatus by name, followed by Binance statuses that map onto one of them
+    private static final OrderStatus[] STATUSES;
+    private static final byte[][] STATUS_NAMES;
+    static {
+        OrderStatus[] values = OrderStatus.values();
+        STATUSES = Arrays.copyOf(values, values.length + 1);
+        STATUS_NAMES = new byte[STATUSES.length][];
+        for (int i = 0; i < values.length; i++) {
+            STATUS_NAMES[i] = values[i].name().getBytes(StandardCharsets.US_ASCII);
+        }
+        STATUSES[values.length] = OrderStatus.EXPIRED;
+        STATUS_NAMES[values.length] = "EXPIRED_IN_MATCH".getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // Exact powers of ten, mantissa / POW10[scale] is correctly rounded up to 10^22
+    private static final double[] POW10 = new double[23];
+    static {
+        POW10[0] = 1.0;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10.0;
+        }
+    }
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private final LiveOrderIndex liveOrders;
+
+    // Parsed values of the last report
+    private byte[] buffer;
+    private boolean executionReport;
+    private long orderId;
+    private OrderStatus status;
+    private boolean unknownStatus;
+    private double executedQty;
+    private double cummulativeQuoteQty;
+    private int clientOrderIdOffset;
+    private int clientOrderIdLength;
+    private int origClientOrderIdOffset;
+    private int origClientOrderIdLength;
+
+    // Scan cursor, kept in a field so value parsers can return primitives
+    private int position;
+
+    private long unknownStatusCount;
+
+    public ExecutionReportParser(LiveOrderIndex liveOrders) {
+        this.liveOrders = liveOrders;
+    }
+
+    /**
+     * Parses a report and applies it to the matching live order
+     * @return The updated order, or null if the message is not an execution report or the order is not tracked
+     */
+    public Order apply(byte[] message, int offset, int length) {
+        if (!parse(message, offset, length)) {
+            return null;
+        }
+        Order order = origClientOrderIdLength > 0
+            ? liveOrders.get(buffer, origClientOrderIdOffset, origClientOrderIdLength)
+            : liveOrders.get(buffer, clientOrderIdOffset, clientOrderIdLength);
+        if (order == null) {
+            return null;
+        }
+        applyTo(order);
+        return order;
+    }
+
+    /**
+     * Copies the parsed values into an order
+     * Order keeps boxed fields, so values are only written when they changed to avoid boxing
+     */
+    public void applyTo(Order order) {
+        if (status != null) {
+            order.setStatus(status);
+        }
+        Long currentOrderId = order.getOrderId();
+        if (orderId >= 0 && (currentOrderId == null || currentOrderId != orderId)) {
+            order.setOrderId(orderId);
+        }
+        Double currentExecutedQty = order.getExecutedQty();
+        if (!Double.isNaN(executedQty) && (currentExecutedQty == null || currentExecutedQty != executedQty)) {
+            order.setExecutedQty(executedQty);
+        }
+        Double currentQuoteQty = order.getCummulativeQuoteQty();
+        if (!Double.isNaN(cummulativeQuoteQty)
+                && (currentQuoteQty == null || currentQuoteQty != cummulativeQuoteQty)) {
+            order.setCummulativeQuoteQty(cummulativeQuoteQty);
+        }
+    }
+
+    /**
+     * Parses a report without applying it
+     * @return true if the message is an execution report carrying a client order id
+     */
+    public boolean parse(byte[] message, int offset, int length) {
+        buffer = message;
+        executionReport = true;
+        orderId = -1;
+        status = null;
+        unknownStatus = false;
+        executedQty = Double.NaN;
+        cummulativeQuoteQty = Double.NaN;
+        clientOrderIdLength = 0;
+        origClientOrderIdLength = 0;
+
+        int end = offset + length;
+        position = offset;
+        while (position < end) {
+            if (message[position] != '"') {
+                position++;
+                continue;
+            }
+            int keyStart = position + 1;
+            int keyEnd = skipString(message, keyStart, end);
+            position = skipWhitespace(message, keyEnd + 1, end);
+            if (position < end && message[position] == ':') {
+                position = skipWhitespace(message, position + 1, end);
+                if (keyEnd - keyStart == 1 && position < end) {
+                    onField(message[keyStart], message, end);
+                }
+            }
+        }
+        return executionReport && (clientOrderIdLength > 0 || origClientOrderIdLength > 0);
+    }
+
+    private void onField(byte key, byte[] message, int end) {
+        switch (key) {
+            case 'e':
+                if (message[position] == '"') {
+                    int start = position + 1;
+                    int close = skipString(message, start, end);
+                    executionReport = equalsAscii(message, start, close - start, EXECUTION_REPORT);
+                    position = close + 1;
+                }
+                break;
+            case 'c':
+                if (message[position] == '"') {
+                    clientOrderIdOffset = position + 1;
+                    int close = skipString(message, clientOrderIdOffset, end);
+                    clientOrderIdLength = close - clientOrderIdOffset;
+                    position = close + 1;
+                }
+                break;
+            case 'C':
+                if (message[position] == '"') {
+                    origClientOrderIdOffset = position + 1;
+                    int close = skipString(message, origClientOrderIdOffset, end);
+                    origClientOrderIdLength = close - origClientOrderIdOffset;
+                    position = close + 1;
+                }
+                break;
+            case 'X':
+                if (message[position] == '"') {
+                    int start = position + 1;
+                    int close = skipString(message, start, end);
+                    status = lookupStatus(message, start, close - start);
+                    if (status == null) {
+                        unknownStatus = true;
+                        unknownStatusCount++;
+                    }
+                    position = close + 1;
+                }
+                break;
+            case 'i':
+                orderId = parseLong(message, end);
+                break;
+            case 'z':
+                executedQty = parseDecimal(message, end);
+                break;
+            case 'Z':
+                cummulativeQuoteQty = parseDecimal(message, end);
+                break;
+            default:
+                // value is skipped by the main scan
+        }
+    }
+
+    // Parsed values of the last report
+
+    public long getOrderId() {
+        return orderId;
+    }
+
+    /**
+     * @return The parsed status, or null if the report had none or one OrderStatus cannot represent
+     */
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return true if the last report carried a status OrderStatus cannot represent, the order's status was kept
+     */
+    public boolean hasUnknownStatus() {
+        return unknownStatus;
+    }
+
+    /**
+     * @return Number of reports with an unrepresentable status since this parser was created
+     */
+    public long getUnknownStatusCount() {
+        return unknownStatusCount;
+    }
+
+    public double getExecutedQty() {
+        return executedQty;
+    }
+
+    public double getCummulativeQuoteQty() {
+        return cummulativeQuoteQty;
+    }
+
+    /**
+     * Allocates, meant for logging and diagnostics only
+     */
+    public String getClientOrderId() {
+        return origClientOrderIdLength > 0
+            ? new String(buffer, origClientOrderIdOffset, origClientOrderIdLength, StandardCharsets.US_ASCII)
+            : new String(buffer, clientOrderIdOffset, clientOrderIdLength, StandardCharsets.US_ASCII);
+    }
+
+    // Scanning helpers
+
+    private static int skipString(byte[] message, int from, int end) {
+        int i = from;
+        while (i < end && message[i] != '"') {
+            i += message[i] == '\\' ? 2 : 1;
+        }
+        return Math.min(i, end);
+    }
+
+    private static int skipWhitespace(byte[] message, int from, int end) {
+        int i = from;
+        while (i < end && (message[i] == ' ' || message[i] == '\t' || message[i] == '\n' || message[i] == '\r')) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean equalsAscii(byte[] message, int offset, int length, byte[] expected) {
+        if (length != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (message[offset + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static OrderStatus lookupStatus(byte[] message, int offset, int length) {
+        for (int i = 0; i < STATUS_NAMES.length; i++) {
+            if (equalsAscii(message, offset, length, STATUS_NAMES[i])) {
+                return STATUSES[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses an integer, quoted or bare, leaving position after it
+     * @return The value, or -1 for null and non-numeric values
+     */
+    private long parseLong(byte[] message, int end) {
+        int i = position;
+        boolean quoted = message[i] == '"';
+        if (quoted) {
+            i++;
+        }
+        boolean negative = i < end && message[i] == '-';
+        if (negative) {
+            i++;
+        }
+        int digitsStart = i;
+        long value = 0;
+        while (i < end && message[i] >= '0' && message[i] <= '9') {
+            value = value * 10 + (message[i] - '0');
+            i++;
+        }
+        boolean empty = i == digitsStart;
+        if (quoted && i < end && message[i] == '"') {
+            i++;
+        }
+        position = i;
+        if (empty) {
+            return -1;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses a decimal, quoted or bare, leaving position after it
+     * Falls back to Double.parseDouble for exponents and mantissas beyond 2^53
+     * @return The value, or NaN for null and non-numeric values
+     */
+    private double parseDecimal(byte[] message, int end) {
+        int i = position;
+        boolean quoted = message[i] == '"';
+        if (quoted) {
+            i++;
+        }
+        int start = i;
+        boolean negative = i < end && message[i] == '-';
+        if (negative) {
+            i++;
+        }
+        long mantissa = 0;
+        int scale = -1;
+        int digits = 0;
+        boolean exact = true;
+        while (i < end) {
+            byte b = message[i];
+            if (b >= '0' && b <= '9') {
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (scale >= 0) {
+                    scale++;
+                }
+                if (mantissa >= MAX_EXACT_MANTISSA) {
+                    exact = false;
+                }
+            } else if (b == '.' && scale < 0) {
+                scale = 0;
+            } else if (b == 'e' || b == 'E' || b == '+' || (b == '-' && i > start)) {
+                exact = false;
+            } else {
+                break;
+            }
+            i++;
+        }
+        int numberEnd = i;
+        if (quoted && i < end && message[i] == '"') {
+            i++;
+        }
+        position = i;
+        if (digits == 0) {
+            return Double.NaN;
+        }
+        if (scale < 0) {
+            scale = 0;
+        }
+        if (!exact || scale >= POW10.length) {
+            try {
+                return Double.parseDouble(new String(message, start, numberEnd - start, StandardCharsets.US_ASCII));
+            } catch (NumberFormatException e) {
+                // malformed exponent such as "1e" or "1e+-2", treat like any other non-numeric value
+                return Double.NaN;
+            }
+        }
+        double value = mantissa / POW10[scale];
+        return negative ? -value : value;
+    }
+}
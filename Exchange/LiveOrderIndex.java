@@ -0,0 +1,136 @@
+package Exchange;
+
+import java.nio.charset.StandardCharsets;
+
+import Modules.Order;
+import utilitis.AsciiHash;
+
+/**
+ * Live orders keyed by newClientOrderId
+ *
+ * Open-addressing table whose keys are the raw ASCII bytes of the client
+ * order id, so an order can be found straight from a slice of an incoming
+ * message without building a String. Keys are hashed with AsciiHash.
+ */
+public final class LiveOrderIndex {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private byte[][] keys;
+    private Order[] orders;
+    private int mask;
+    private int size;
+
+    public LiveOrderIndex() {
+        keys = new byte[INITIAL_CAPACITY][];
+        orders = new Order[INITIAL_CAPACITY];
+        mask = INITIAL_CAPACITY - 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Starts tracking an order, replacing any order with the same client id
+     * @throws IllegalArgumentException if the order has no newClientOrderId
+     */
+    public void put(Order order) {
+        String clientOrderId = order.getNewClientOrderId();
+        if (clientOrderId == null || clientOrderId.isEmpty()) {
+            throw new IllegalArgumentException("order must have a newClientOrderId to be tracked");
+        }
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        byte[] key = clientOrderId.getBytes(StandardCharsets.US_ASCII);
+        int slot = find(key, 0, key.length);
+        if (keys[slot] == null) {
+            keys[slot] = key;
+            size++;
+        }
+        orders[slot] = order;
+    }
+
+    /**
+     * @return The tracked order or null
+     */
+    public Order get(String clientOrderId) {
+        byte[] key = clientOrderId.getBytes(StandardCharsets.US_ASCII);
+        return get(key, 0, key.length);
+    }
+
+    /**
+     * Looks an order up by a slice of ASCII bytes
+     * @return The tracked order or null
+     */
+    public Order get(byte[] buffer, int offset, int length) {
+        return orders[find(buffer, offset, length)];
+    }
+
+    /**
+     * Stops tracking an order, typically once it reached a final status
+     * @return The removed order or null
+     */
+    public Order remove(String clientOrderId) {
+        byte[] key = clientOrderId.getBytes(StandardCharsets.US_ASCII);
+        int slot = find(key, 0, key.length);
+        Order removed = orders[slot];
+        if (removed == null) {
+            return null;
+        }
+        keys[slot] = null;
+        orders[slot] = null;
+        size--;
+
+        // Backward-shift deletion keeps probe chains intact without tombstones
+        int hole = slot;
+        int next = (slot + 1) & mask;
+        while (keys[next] != null) {
+            int home = AsciiHash.hash(keys[next], 0, keys[next].length) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                orders[hole] = orders[next];
+                keys[next] = null;
+                orders[next] = null;
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        return removed;
+    }
+
+    private int find(byte[] buffer, int offset, int length) {
+        int slot = AsciiHash.hash(buffer, offset, length) & mask;
+        while (keys[slot] != null && !matches(keys[slot], buffer, offset, length)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize(int capacity) {
+        byte[][] oldKeys = keys;
+        Order[] oldOrders = orders;
+        keys = new byte[capacity][];
+        orders = new Order[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = find(oldKeys[i], 0, oldKeys[i].length);
+                keys[slot] = oldKeys[i];
+                orders[slot] = oldOrders[i];
+            }
+        }
+    }
+
+    private static boolean matches(byte[] key, byte[] buffer, int offset, int length) {
+        if (key.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key[i] != buffer[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
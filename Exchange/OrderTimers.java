@@ -0,0 +1,117 @@
+package Exchange;
+
+import Modules.Order;
+import Modules.Order.TimeInForce;
+import utilitis.TimerWheel;
+
+/**
+ * Order-related timers on top of TimerWheel
+ *
+ * - recvWindow expiry: request is stale once timestamp + recvWindow has passed
+ * - cancel-after:      GTC orders that should be cancelled after a delay
+ * - retry:             re-send after a back-off
+ *
+ * Each kind has its own wheel so timer ids stay primitive and no holder object
+ * is created per timer. Times are epoch milliseconds, like Order.timestamp.
+ * Not thread-safe: schedule, cancel and poll from the order-routing thread.
+ */
+public final class OrderTimers {
+    // Binance applies 5000 ms when recvWindow is not sent
+    public static final long DEFAULT_RECV_WINDOW = 5000L;
+
+    private static final long DEFAULT_TICK_MILLIS = 8L;
+    private static final int DEFAULT_TICKS_PER_WHEEL = 1024;
+
+    /**
+     * Callbacks for expired order timers, invoked from poll()
+     * timerId is the id the schedule call returned, so owners can clear the handle they stored;
+     * once fired it is stale and cancelling it is a no-op
+     */
+    public interface Listener {
+        void onRecvWindowExpired(long timerId, Order order);
+
+        void onCancelAfter(long timerId, Order order);
+
+        void onRetry(long timerId, Order order);
+    }
+
+    private final TimerWheel<Order> recvWindowTimers;
+    private final TimerWheel<Order> cancelAfterTimers;
+    private final TimerWheel<Order> retryTimers;
+    private final TimerWheel.ExpiryHandler<Order> recvWindowHandler;
+    private final TimerWheel.ExpiryHandler<Order> cancelAfterHandler;
+    private final TimerWheel.ExpiryHandler<Order> retryHandler;
+
+    public OrderTimers(long now, Listener listener) {
+        this(now, DEFAULT_TICK_MILLIS, DEFAULT_TICKS_PER_WHEEL, listener);
+    }
+
+    /**
+     * @param tickMillis Timer resolution, must be a power of two
+     * @param ticksPerWheel Spokes per wheel, must be a power of two
+     */
+    public OrderTimers(long now, long tickMillis, int ticksPerWheel, Listener listener) {
+        this.recvWindowTimers = new TimerWheel<>(now, tickMillis, ticksPerWheel);
+        this.cancelAfterTimers = new TimerWheel<>(now, tickMillis, ticksPerWheel);
+        this.retryTimers = new TimerWheel<>(now, tickMillis, ticksPerWheel);
+        this.recvWindowHandler = listener::onRecvWindowExpired;
+        this.cancelAfterHandler = listener::onCancelAfter;
+        this.retryHandler = listener::onRetry;
+    }
+
+    /**
+     * Fires once the order's timestamp + recvWindow has passed
+     * @return Timer id for cancelRecvWindowExpiry
+     */
+    public long scheduleRecvWindowExpiry(Order order) {
+        long recvWindow = order.getRecvWindow() != null ? order.getRecvWindow() : DEFAULT_RECV_WINDOW;
+        return recvWindowTimers.schedule(order.getTimestamp() + recvWindow, order);
+    }
+
+    public boolean cancelRecvWindowExpiry(long timerId) {
+        return recvWindowTimers.cancel(timerId);
+    }
+
+    /**
+     * Fires delayMillis after now, only GTC orders rest on the book long enough to need it
+     * @return Timer id for cancelCancelAfter, or TimerWheel.NULL_TIMER if the order is not GTC
+     */
+    public long scheduleCancelAfter(Order order, long now, long delayMillis) {
+        if (order.getTimeInForce() != TimeInForce.GTC) {
+            return TimerWheel.NULL_TIMER;
+        }
+        return cancelAfterTimers.schedule(now + delayMillis, order);
+    }
+
+    public boolean cancelCancelAfter(long timerId) {
+        return cancelAfterTimers.cancel(timerId);
+    }
+
+    /**
+     * Fires delayMillis after now
+     * @return Timer id for cancelRetry
+     */
+    public long scheduleRetry(Order order, long now, long delayMillis) {
+        return retryTimers.schedule(now + delayMillis, order);
+    }
+
+    public boolean cancelRetry(long timerId) {
+        return retryTimers.cancel(timerId);
+    }
+
+    public int pendingCount() {
+        return recvWindowTimers.timerCount() + cancelAfterTimers.timerCount() + retryTimers.timerCount();
+    }
+
+    /**
+     * Runs every timer due by now on the calling thread
+     * Timers a listener schedules, e.g. an immediate retry, fire on a later poll, so each
+     * call is bounded by the timers pending when it started
+     * @return Number of timers expired
+     */
+    public int poll(long now) {
+        return recvWindowTimers.poll(now, recvWindowHandler, Integer.MAX_VALUE)
+            + cancelAfterTimers.poll(now, cancelAfterHandler, Integer.MAX_VALUE)
+            + retryTimers.poll(now, retryHandler, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,262 @@
+package MarketData;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import Interfaces.ObserverPattern;
+import Transport.TickCodec;
+import utilitis.AsciiHash;
+
+/**
+ * Multi-timeframe streaming OHLCV aggregator
+ *
+ * Each trade is consumed once and folded into every configured interval of
+ * its symbol, O(1) per interval. A trade older than the newest bar of an
+ * interval, or one that arrives after that bar was published as closed, is
+ * dropped for that interval and counted in CandleSeries.getLateTradeCount(),
+ * so closed bars never change after the fact. Observers are notified when a bar closes and,
+ * optionally, every N trades while a bar is forming. pullData() returns the
+ * CandleSeries that triggered the notification; CandleSeries.isForming() tells
+ * a partial update apart from a close.
+ *
+ * Not thread-safe: feed it from one thread. Different symbols never share
+ * state, which is what CandleHistoryLoader relies on to rebuild in parallel.
+ */
+public class CandleAggregator implements ObserverPattern.Subject {
+    private final CandleInterval[] intervals;
+    private final int capacity;
+    private final Map<String, Integer> symbolIds = new HashMap<>();
+    private final List<String> symbols = new ArrayList<>();
+    private final List<CandleSeries[]> seriesBySymbol = new ArrayList<>();
+    private final List<ObserverPattern.Observer> observers = new ArrayList<>();
+
+    // Open-addressing table of symbol ids keyed by the symbol's ASCII hash,
+    // lets decoded ticks find their symbol without building a String
+    private int[] symbolSlots = newSymbolSlots(16);
+
+    private int partialUpdateTrades;
+    private CandleSeries lastUpdated;
+
+    /**
+     * @param capacity Bars kept per symbol and interval, must be a power of two
+     * @param intervals Intervals to build for every symbol
+     */
+    public CandleAggregator(int capacity, CandleInterval... intervals) {
+        if (intervals == null || intervals.length == 0) {
+            throw new IllegalArgumentException("at least one interval is required");
+        }
+        this.capacity = capacity;
+        this.intervals = intervals.clone();
+    }
+
+    /**
+     * Enables partial-bar notifications
+     * @param trades Notify every this many trades into a forming bar, 0 notifies on close only
+     */
+    public void setPartialUpdateTrades(int trades) {
+        if (trades < 0) {
+            throw new IllegalArgumentException("trades must be >= 0: " + trades);
+        }
+        this.partialUpdateTrades = trades;
+    }
+
+    public int getPartialUpdateTrades() {
+        return partialUpdateTrades;
+    }
+
+    public CandleInterval[] getIntervals() {
+        return intervals.clone();
+    }
+
+    /**
+     * Registers a symbol, or returns the id it already has
+     * @return Dense id usable with the int-keyed overloads
+     * @throws IllegalArgumentException if the symbol is null or empty
+     */
+    public int registerSymbol(String symbol) {
+        if (symbol == null || symbol.isEmpty()) {
+            throw new IllegalArgumentException("symbol must not be empty");
+        }
+        Integer id = symbolIds.get(symbol);
+        if (id != null) {
+            return id;
+        }
+        CandleSeries[] series = new CandleSeries[intervals.length];
+        for (int i = 0; i < intervals.length; i++) {
+            series[i] = new CandleSeries(symbol, intervals[i], capacity);
+        }
+        int newId = symbols.size();
+        symbols.add(symbol);
+        seriesBySymbol.add(series);
+        symbolIds.put(symbol, newId);
+        if (symbols.size() * 2 > symbolSlots.length) {
+            symbolSlots = newSymbolSlots(symbolSlots.length * 2);
+            for (int i = 0; i < symbols.size(); i++) {
+                insertSymbolSlot(i);
+            }
+        } else {
+            insertSymbolSlot(newId);
+        }
+        return newId;
+    }
+
+    /**
+     * @return The symbol id or -1 if the symbol was never registered
+     */
+    public int symbolId(String symbol) {
+        Integer id = symbolIds.get(symbol);
+        return id == null ? -1 : id;
+    }
+
+    public int symbolCount() {
+        return symbols.size();
+    }
+
+    public String getSymbol(int symbolId) {
+        return symbols.get(symbolId);
+    }
+
+    public CandleSeries getSeries(String symbol, CandleInterval interval) {
+        int id = symbolId(symbol);
+        return id < 0 ? null : getSeries(id, interval);
+    }
+
+    public CandleSeries getSeries(int symbolId, CandleInterval interval) {
+        CandleSeries[] series = seriesBySymbol.get(symbolId);
+        for (CandleSeries s : series) {
+            if (s.getInterval() == interval) {
+                return s;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Consumes a trade, registering the symbol on first sight
+     */
+    public void onTrade(String symbol, long timestamp, double price, double quantity) {
+        onTrade(registerSymbol(symbol), timestamp, price, quantity);
+    }
+
+    /**
+     * Resolves the symbol of a decoded tick, registering it on first sight
+     * Known symbols are found by hashing the raw bytes, so no String is created for them
+     * @throws IllegalArgumentException if the tick's symbol field is empty
+     */
+    public int registerSymbol(TickCodec.Decoder tick) {
+        int mask = symbolSlots.length - 1;
+        int slot = tick.symbolHash() & mask;
+        int id;
+        while ((id = symbolSlots[slot]) >= 0) {
+            if (tick.symbolEquals(symbols.get(id))) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        String symbol = tick.symbol();
+        if (symbol == null) {
+            throw new IllegalArgumentException("tick has an empty symbol field");
+        }
+        return registerSymbol(symbol);
+    }
+
+    private void insertSymbolSlot(int id) {
+        int mask = symbolSlots.length - 1;
+        int slot = AsciiHash.hash(symbols.get(id)) & mask;
+        while (symbolSlots[slot] >= 0) {
+            slot = (slot + 1) & mask;
+        }
+        symbolSlots[slot] = id;
+    }
+
+    private static int[] newSymbolSlots(int capacity) {
+        int[] slots = new int[capacity];
+        Arrays.fill(slots, -1);
+        return slots;
+    }
+
+    /**
+     * Consumes a decoded tick
+     */
+    public void onTrade(TickCodec.Decoder tick) {
+        onTrade(registerSymbol(tick), tick.eventTime(), tick.price(), tick.quantity());
+    }
+
+    /**
+     * Consumes a trade for an already registered symbol
+     */
+    public void onTrade(int symbolId, long timestamp, double price, double quantity) {
+        CandleSeries[] series = seriesBySymbol.get(symbolId);
+        for (CandleSeries s : series) {
+            if (s.startsNewBar(timestamp)) {
+                if (s.isForming()) {
+                    s.closeBar();
+                    publish(s);
+                }
+                s.openBar(timestamp, price, quantity);
+            } else if (s.isForming() && timestamp >= s.getOpenTime(0)) {
+                s.addTrade(price, quantity);
+            } else {
+                s.lateTrade();
+                continue;
+            }
+            if (partialUpdateTrades > 0 && s.isForming() && s.tradesSinceNotify() >= partialUpdateTrades) {
+                s.resetTradesSinceNotify();
+                publish(s);
+            }
+        }
+    }
+
+    /**
+     * Closes every forming bar whose interval has ended by the given time
+     * Call it from a clock tick so quiet symbols still emit their closes
+     */
+    public void advanceTime(long timestamp) {
+        for (CandleSeries[] series : seriesBySymbol) {
+            for (CandleSeries s : series) {
+                if (s.isDue(timestamp)) {
+                    s.closeBar();
+                    publish(s);
+                }
+            }
+        }
+    }
+
+    private void publish(CandleSeries series) {
+        if (observers.isEmpty()) {
+            return;
+        }
+        lastUpdated = series;
+        notifyObservers();
+    }
+
+    @Override
+    public void addObserver(ObserverPattern.Observer observer) {
+        if (observer != null && !observers.contains(observer)) {
+            observers.add(observer);
+        }
+    }
+
+    @Override
+    public void removeObserver(ObserverPattern.Observer observer) {
+        observers.remove(observer);
+    }
+
+    @Override
+    public void notifyObservers() {
+        for (int i = 0; i < observers.size(); i++) {
+            observers.get(i).update();
+        }
+    }
+
+    /**
+     * @return The CandleSeries behind the current notification
+     */
+    @Override
+    public Object pullData() {
+        return lastUpdated;
+    }
+}
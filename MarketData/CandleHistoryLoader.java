@@ -0,0 +1,101 @@
+package MarketData;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import Transport.DirectBufferView;
+import Transport.TickCodec;
+
+/**
+ * Rebuilds candle history from a recorded tick file
+ *
+ * The file is a plain sequence of TickCodec records in arrival order. It is
+ * memory-mapped, grouped by symbol in one sequential pass and then replayed
+ * with one task per symbol, since symbols never share aggregator state.
+ */
+public final class CandleHistoryLoader {
+    private CandleHistoryLoader() {}
+
+    // Largest whole number of records that fits in one mapping
+    private static final long CHUNK_BYTES =
+        (Integer.MAX_VALUE / TickCodec.BLOCK_LENGTH) * (long) TickCodec.BLOCK_LENGTH;
+
+    /**
+     * Builds a new aggregator from a tick file
+     * Observers should be attached to the result afterwards, none are notified while rebuilding
+     * @param capacity Bars kept per symbol and interval, must be a power of two
+     * @throws IllegalArgumentException if a record has an empty symbol, e.g. a zeroed or torn write
+     */
+    public static CandleAggregator rebuild(Path tickFile, int capacity, CandleInterval... intervals)
+            throws IOException {
+        CandleAggregator aggregator = new CandleAggregator(capacity, intervals);
+        try (FileChannel channel = FileChannel.open(tickFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % TickCodec.BLOCK_LENGTH != 0) {
+                throw new IllegalStateException("tick file is not a whole number of records: " + tickFile);
+            }
+            for (long position = 0; position < size; position += CHUNK_BYTES) {
+                long length = Math.min(CHUNK_BYTES, size - position);
+                ByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                replay(aggregator, tickFile, chunk, position / TickCodec.BLOCK_LENGTH,
+                    (int) (length / TickCodec.BLOCK_LENGTH));
+            }
+        }
+        return aggregator;
+    }
+
+    private static void replay(CandleAggregator aggregator, Path tickFile, ByteBuffer chunk,
+                               long firstRecord, int recordCount) {
+        // Pass 1, sequential: register symbols and bucket record numbers per symbol
+        DirectBufferView view = new DirectBufferView(chunk);
+        TickCodec.Decoder decoder = new TickCodec.Decoder();
+        int[][] records = new int[Math.max(aggregator.symbolCount(), 1)][];
+        int[] counts = new int[records.length];
+        int lastId = -1;
+        for (int r = 0; r < recordCount; r++) {
+            decoder.wrap(view, r * TickCodec.BLOCK_LENGTH);
+            // symbolEquals(null) matches an empty field without allocating
+            if (decoder.symbolEquals(null)) {
+                long record = firstRecord + r;
+                throw new IllegalArgumentException("tick record " + record + " (byte offset "
+                    + record * TickCodec.BLOCK_LENGTH + ") in " + tickFile + " has an empty symbol");
+            }
+            int id = lastId >= 0 && decoder.symbolEquals(aggregator.getSymbol(lastId))
+                ? lastId
+                : aggregator.registerSymbol(decoder);
+            if (id >= records.length) {
+                int grown = Math.max(id + 1, records.length * 2);
+                records = Arrays.copyOf(records, grown);
+                counts = Arrays.copyOf(counts, grown);
+            }
+            if (records[id] == null) {
+                records[id] = new int[256];
+            } else if (counts[id] == records[id].length) {
+                records[id] = Arrays.copyOf(records[id], records[id].length * 2);
+            }
+            records[id][counts[id]++] = r;
+            lastId = id;
+        }
+
+        // Pass 2, parallel across symbols: each task only touches its own series
+        int[][] bySymbol = records;
+        int[] countBySymbol = counts;
+        IntStream.range(0, aggregator.symbolCount()).parallel().forEach(id -> {
+            if (id >= bySymbol.length || countBySymbol[id] == 0) {
+                return;
+            }
+            DirectBufferView local = new DirectBufferView(chunk);
+            TickCodec.Decoder tick = new TickCodec.Decoder();
+            int[] symbolRecords = bySymbol[id];
+            for (int i = 0; i < countBySymbol[id]; i++) {
+                tick.wrap(local, symbolRecords[i] * TickCodec.BLOCK_LENGTH);
+                aggregator.onTrade(id, tick.eventTime(), tick.price(), tick.quantity());
+            }
+        });
+    }
+}
@@ -0,0 +1,31 @@
+package MarketData;
+
+/**
+ * Candle interval enum, names follow Binance kline intervals
+ */
+public enum CandleInterval {
+    S1(1_000L),         // 1 second
+    M1(60_000L),        // 1 minute
+    M5(300_000L),       // 5 minutes
+    M15(900_000L),      // 15 minutes
+    H1(3_600_000L),     // 1 hour
+    H4(14_400_000L),    // 4 hours
+    D1(86_400_000L);    // 1 day
+
+    private final long millis;
+
+    CandleInterval(long millis) {
+        this.millis = millis;
+    }
+
+    public long millis() {
+        return millis;
+    }
+
+    /**
+     * Start of the interval that contains the given timestamp
+     */
+    public long openTimeOf(long timestamp) {
+        return timestamp - Math.floorMod(timestamp, millis);
+    }
+}
@@ -0,0 +1,196 @@
+package MarketData;
+
+/**
+ * OHLCV bars for one symbol and one interval
+ *
+ * Bars live in primitive column arrays used as a ring, so memory is fixed at
+ * construction and the oldest bar is overwritten once capacity is reached.
+ * Bars are addressed by age: 0 is the newest bar, size() - 1 the oldest.
+ *
+ * Only the owning CandleAggregator mutates a series.
+ */
+public final class CandleSeries {
+    private final String symbol;
+    private final CandleInterval interval;
+    private final int mask;
+
+    private final long[] openTime;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final double[] volume;
+    private final double[] quoteVolume;
+    private final int[] tradeCount;
+
+    private int head = -1;      // slot of the newest bar
+    private int size;
+    private boolean forming;    // newest bar is still receiving trades
+    private int tradesSinceNotify;
+    private long lateTradeCount;
+
+    CandleSeries(String symbol, CandleInterval interval, int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        this.symbol = symbol;
+        this.interval = interval;
+        this.mask = capacity - 1;
+        this.openTime = new long[capacity];
+        this.open = new double[capacity];
+        this.high = new double[capacity];
+        this.low = new double[capacity];
+        this.close = new double[capacity];
+        this.volume = new double[capacity];
+        this.quoteVolume = new double[capacity];
+        this.tradeCount = new int[capacity];
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public CandleInterval getInterval() {
+        return interval;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Number of bars held, including the forming one
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Check if the newest bar is still open
+     * @return false right after a bar-close notification
+     */
+    public boolean isForming() {
+        return forming;
+    }
+
+    public long getOpenTime(int ago) {
+        return openTime[slot(ago)];
+    }
+
+    public long getCloseTime(int ago) {
+        return openTime[slot(ago)] + interval.millis() - 1;
+    }
+
+    public double getOpen(int ago) {
+        return open[slot(ago)];
+    }
+
+    public double getHigh(int ago) {
+        return high[slot(ago)];
+    }
+
+    public double getLow(int ago) {
+        return low[slot(ago)];
+    }
+
+    public double getClose(int ago) {
+        return close[slot(ago)];
+    }
+
+    public double getVolume(int ago) {
+        return volume[slot(ago)];
+    }
+
+    public double getQuoteVolume(int ago) {
+        return quoteVolume[slot(ago)];
+    }
+
+    public int getTradeCount(int ago) {
+        return tradeCount[slot(ago)];
+    }
+
+    /**
+     * Trades dropped because they were older than the newest bar or their bar had already closed
+     */
+    public long getLateTradeCount() {
+        return lateTradeCount;
+    }
+
+    private int slot(int ago) {
+        if (ago < 0 || ago >= size) {
+            throw new IndexOutOfBoundsException("bar " + ago + " of " + size);
+        }
+        return (head - ago) & mask;
+    }
+
+    // Mutators used by CandleAggregator
+
+    /**
+     * Check if a trade at this timestamp falls after the newest bar
+     */
+    boolean startsNewBar(long timestamp) {
+        return size == 0 || timestamp >= openTime[head] + interval.millis();
+    }
+
+    /**
+     * Check if the forming bar has ended by the given time
+     */
+    boolean isDue(long timestamp) {
+        return forming && timestamp >= openTime[head] + interval.millis();
+    }
+
+    void closeBar() {
+        forming = false;
+        tradesSinceNotify = 0;
+    }
+
+    void openBar(long timestamp, double price, double quantity) {
+        head = (head + 1) & mask;
+        if (size <= mask) {
+            size++;
+        }
+        openTime[head] = interval.openTimeOf(timestamp);
+        open[head] = price;
+        high[head] = price;
+        low[head] = price;
+        close[head] = price;
+        volume[head] = quantity;
+        quoteVolume[head] = price * quantity;
+        tradeCount[head] = 1;
+        forming = true;
+        tradesSinceNotify = 1;
+    }
+
+    /**
+     * Folds a trade into the forming bar
+     */
+    void addTrade(double price, double quantity) {
+        if (price > high[head]) {
+            high[head] = price;
+        }
+        if (price < low[head]) {
+            low[head] = price;
+        }
+        close[head] = price;
+        volume[head] += quantity;
+        quoteVolume[head] += price * quantity;
+        tradeCount[head]++;
+        tradesSinceNotify++;
+    }
+
+    void lateTrade() {
+        lateTradeCount++;
+    }
+
+    int tradesSinceNotify() {
+        return tradesSinceNotify;
+    }
+
+    void resetTradesSinceNotify() {
+        tradesSinceNotify = 0;
+    }
+}
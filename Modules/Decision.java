@@ -2,4 +2,19 @@ package Modules;
 
 public class Decision {
     private String symbol;
+
+    public Decision() {
+    }
+
+    public Decision(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(String symbol) {
+        this.symbol = symbol;
+    }
 }
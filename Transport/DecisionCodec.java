@@ -0,0 +1,83 @@
+package Transport;
+
+import Modules.Decision;
+
+/**
+ * Fixed-layout binary codec for Decision
+ *
+ * Layout (little-endian, BLOCK_LENGTH bytes):
+ *   0  symbol    16 bytes ASCII, zero padded, longer values are rejected
+ */
+public final class DecisionCodec {
+    private DecisionCodec() {}
+
+    public static final int TEMPLATE_ID = 2;
+    public static final int BLOCK_LENGTH = 16;
+
+    public static final int SYMBOL_LENGTH = 16;
+
+    private static final int SYMBOL_OFFSET = 0;
+
+    /**
+     * Flyweight encoder, wrap it over a buffer region and set fields in place
+     */
+    public static final class Encoder {
+        private DirectBufferView buffer;
+        private int offset;
+
+        public Encoder wrap(DirectBufferView buffer, int offset) {
+            this.buffer = buffer;
+            this.offset = offset;
+            return this;
+        }
+
+        public int encodedLength() {
+            return BLOCK_LENGTH;
+        }
+
+        public Encoder symbol(String symbol) {
+            buffer.putFixedAscii(offset + SYMBOL_OFFSET, SYMBOL_LENGTH, symbol);
+            return this;
+        }
+
+        /**
+         * Encodes every field of a Decision
+         * @return The encoded length in bytes
+         */
+        public int encode(Decision decision) {
+            symbol(decision.getSymbol());
+            return BLOCK_LENGTH;
+        }
+    }
+
+    /**
+     * Flyweight decoder, reads fields straight from the wrapped buffer region
+     */
+    public static final class Decoder {
+        private DirectBufferView buffer;
+        private int offset;
+
+        public Decoder wrap(DirectBufferView buffer, int offset) {
+            this.buffer = buffer;
+            this.offset = offset;
+            return this;
+        }
+
+        public String symbol() {
+            return buffer.getFixedAscii(offset + SYMBOL_OFFSET, SYMBOL_LENGTH);
+        }
+
+        public boolean symbolEquals(String symbol) {
+            return buffer.fixedAsciiEquals(offset + SYMBOL_OFFSET, SYMBOL_LENGTH, symbol);
+        }
+
+        /**
+         * Copies the decoded fields into an existing Decision
+         * @return The same decision instance
+         */
+        public Decision decodeInto(Decision decision) {
+            decision.setSymbol(symbol());
+            return decision;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package Transport;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import utilitis.AsciiHash;
+
+/**
+ * Flyweight view over a ByteBuffer (heap, direct or memory-mapped)
+ * Gives absolute, little-endian access to primitives at byte offsets so
+ * codecs can read and write fields in place without copying or allocating
+ */
+public final class DirectBufferView {
+    private ByteBuffer buffer;
+
+    public DirectBufferView() {
+    }
+
+    public DirectBufferView(ByteBuffer buffer) {
+        wrap(buffer);
+    }
+
+    /**
+     * Points this view at a new buffer
+     * The caller's buffer is duplicated so its position, limit and byte order are left untouched
+     * @return The view instance for method chaining
+     */
+    public DirectBufferView wrap(ByteBuffer buffer) {
+        ByteBuffer view = buffer.duplicate();
+        view.clear();
+        view.order(ByteOrder.LITTLE_ENDIAN);
+        this.buffer = view;
+        return this;
+    }
+
+    public ByteBuffer byteBuffer() {
+        return buffer;
+    }
+
+    public int capacity() {
+        return buffer.capacity();
+    }
+
+    public byte getByte(int index) {
+        return buffer.get(index);
+    }
+
+    public void putByte(int index, byte value) {
+        buffer.put(index, value);
+    }
+
+    public short getShort(int index) {
+        return buffer.getShort(index);
+    }
+
+    public void putShort(int index, short value) {
+        buffer.putShort(index, value);
+    }
+
+    public int getInt(int index) {
+        return buffer.getInt(index);
+    }
+
+    public void putInt(int index, int value) {
+        buffer.putInt(index, value);
+    }
+
+    public long getLong(int index) {
+        return buffer.getLong(index);
+    }
+
+    public void putLong(int index, long value) {
+        buffer.putLong(index, value);
+    }
+
+    public double getDouble(int index) {
+        return buffer.getDouble(index);
+    }
+
+    public void putDouble(int index, double value) {
+        buffer.putDouble(index, value);
+    }
+
+    public void getBytes(int index, byte[] dst, int offset, int length) {
+        buffer.get(index, dst, offset, length);
+    }
+
+    public void putBytes(int index, byte[] src, int offset, int length) {
+        buffer.put(index, src, offset, length);
+    }
+
+    /**
+     * Copies a region of another view into this one
+     */
+    public void putBytes(int index, DirectBufferView src, int srcIndex, int length) {
+        buffer.put(index, src.buffer, srcIndex, length);
+    }
+
+    /**
+     * Fills a region with a single byte value
+     */
+    public void setMemory(int index, int length, byte value) {
+        int i = index;
+        int end = index + length;
+        if (value == 0) {
+            for (; i + Long.BYTES <= end; i += Long.BYTES) {
+                buffer.putLong(i, 0L);
+            }
+        }
+        for (; i < end; i++) {
+            buffer.put(i, value);
+        }
+    }
+
+    /**
+     * Writes an ASCII string into a fixed-width, zero-padded field
+     * The field is left untouched when the value is rejected
+     * @param value The string to write, null leaves the field empty
+     * @throws IllegalArgumentException if the value is longer than the field or has characters outside 1-127
+     */
+    public void putFixedAscii(int index, int width, String value) {
+        checkFixedAscii(width, value);
+        int length = value == null ? 0 : value.length();
+        for (int i = 0; i < length; i++) {
+            buffer.put(index + i, (byte) value.charAt(i));
+        }
+        for (int i = length; i < width; i++) {
+            buffer.put(index + i, (byte) 0);
+        }
+    }
+
+    /**
+     * Checks that a value fits a fixed-width ASCII field without writing it
+     * @throws IllegalArgumentException if the value is longer than the field or has characters outside 1-127
+     */
+    public static void checkFixedAscii(int width, String value) {
+        if (value == null) {
+            return;
+        }
+        if (value.length() > width) {
+            throw new IllegalArgumentException("value longer than " + width + " characters: " + value);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == 0 || c > 127) {
+                throw new IllegalArgumentException("value is not ASCII at index " + i + ": " + value);
+            }
+        }
+    }
+
+    /**
+     * Reads a fixed-width, zero-padded ASCII field
+     * @return The decoded string or null if the field is empty
+     */
+    public String getFixedAscii(int index, int width) {
+        int length = fixedAsciiLength(index, width);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(index, bytes, 0, length);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Compares a fixed-width ASCII field with a string without allocating
+     * @return true if the field holds exactly the given value
+     */
+    public boolean fixedAsciiEquals(int index, int width, String value) {
+        int length = fixedAsciiLength(index, width);
+        if (value == null) {
+            return length == 0;
+        }
+        if (value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(index + i) != (byte) value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hashes a fixed-width ASCII field in place
+     * Matches AsciiHash.hash(String) for the same text, so fields can be looked up in String-keyed tables
+     */
+    public int fixedAsciiHash(int index, int width) {
+        int h = AsciiHash.SEED;
+        for (int i = 0; i < width; i++) {
+            byte b = buffer.get(index + i);
+            if (b == 0) {
+                break;
+            }
+            h = AsciiHash.update(h, b);
+        }
+        return AsciiHash.finish(h);
+    }
+
+    private int fixedAsciiLength(int index, int width) {
+        int length = 0;
+        while (length < width && buffer.get(index + length) != 0) {
+            length++;
+        }
+        return length;
+    }
+}
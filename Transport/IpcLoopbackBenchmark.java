@@ -0,0 +1,172 @@
+package Transport;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import Modules.Order;
+import Modules.Order.OrderSide;
+import Modules.Order.OrderType;
+import utilitis.ConsoleLogger;
+
+/**
+ * Round-trip latency benchmark for MappedRingBuffer + OrderCodec
+ *
+ * A pinger encodes an Order into a request ring, an echo responder copies it
+ * into a response ring and the pinger times the round trip.
+ *
+ * Usage:
+ *   IpcLoopbackBenchmark                              echo runs on a thread in this JVM
+ *   IpcLoopbackBenchmark echo <request> <response>    run the echo side (start this first, in its own JVM)
+ *   IpcLoopbackBenchmark ping <request> <response>    run the timing side against an existing echo process
+ */
+public final class IpcLoopbackBenchmark {
+    private IpcLoopbackBenchmark() {}
+
+    private static final int RING_CAPACITY = 1 << 20;
+    private static final int WARMUP_ITERATIONS = 100_000;
+    private static final int MEASURED_ITERATIONS = 1_000_000;
+    private static final int SPINS_BEFORE_YIELD = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 3 && "echo".equals(args[0])) {
+            try (MappedRingBuffer request = MappedRingBuffer.create(Paths.get(args[1]), RING_CAPACITY);
+                 MappedRingBuffer response = MappedRingBuffer.create(Paths.get(args[2]), RING_CAPACITY)) {
+                ConsoleLogger.info("echo responder ready", "[ipc]");
+                echo(request, response);
+            }
+            return;
+        }
+        if (args.length == 3 && "ping".equals(args[0])) {
+            try (MappedRingBuffer request = MappedRingBuffer.open(Paths.get(args[1]));
+                 MappedRingBuffer response = MappedRingBuffer.open(Paths.get(args[2]))) {
+                ping(request, response);
+            }
+            return;
+        }
+        runInProcess();
+    }
+
+    private static void runInProcess() throws IOException, InterruptedException {
+        Path requestFile = Files.createTempFile("ipc-request", ".ring");
+        Path responseFile = Files.createTempFile("ipc-response", ".ring");
+        try (MappedRingBuffer request = MappedRingBuffer.create(requestFile, RING_CAPACITY);
+             MappedRingBuffer response = MappedRingBuffer.create(responseFile, RING_CAPACITY);
+             MappedRingBuffer echoRequest = MappedRingBuffer.open(requestFile);
+             MappedRingBuffer echoResponse = MappedRingBuffer.open(responseFile)) {
+            Thread responder = new Thread(() -> echo(echoRequest, echoResponse), "ipc-echo");
+            responder.setDaemon(true);
+            responder.start();
+            ping(request, response);
+            responder.interrupt();
+            responder.join(1000);
+        } finally {
+            Files.deleteIfExists(requestFile);
+            Files.deleteIfExists(responseFile);
+        }
+    }
+
+    private static void echo(MappedRingBuffer request, MappedRingBuffer response) {
+        MappedRingBuffer.MessageHandler handler = (msgTypeId, buffer, index, length) -> {
+            int spins = 0;
+            while (!response.write(msgTypeId, buffer, index, length)) {
+                idle(++spins);
+            }
+        };
+        int spins = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            spins = request.read(handler, 16) == 0 ? spins + 1 : 0;
+            idle(spins);
+        }
+    }
+
+    private static void ping(MappedRingBuffer request, MappedRingBuffer response) {
+        Order order = new Order.Builder()
+            .symbol("BTCUSDT")
+            .side(OrderSide.BUY)
+            .type(OrderType.LIMIT)
+            .quantity(0.01)
+            .price(65000.0)
+            .timeInForce(Order.TimeInForce.GTC)
+            .recvWindow(5000L)
+            .newClientOrderId("bench-0001")
+            .build();
+        OrderCodec.Encoder encoder = new OrderCodec.Encoder();
+        OrderCodec.Decoder decoder = new OrderCodec.Decoder();
+        long[] received = new long[1];
+        MappedRingBuffer.MessageHandler handler = (msgTypeId, buffer, index, length) ->
+            received[0] = decoder.wrap(buffer, index).orderId();
+
+        roundTrips(request, response, encoder, handler, received, order, WARMUP_ITERATIONS, null);
+
+        long[] latencies = new long[MEASURED_ITERATIONS];
+        roundTrips(request, response, encoder, handler, received, order, MEASURED_ITERATIONS, latencies);
+        report(latencies);
+    }
+
+    private static void roundTrips(MappedRingBuffer request, MappedRingBuffer response,
+                                   OrderCodec.Encoder encoder, MappedRingBuffer.MessageHandler handler,
+                                   long[] received, Order order, int iterations, long[] latencies) {
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            int spins = 0;
+            int index;
+            while ((index = request.claim(OrderCodec.TEMPLATE_ID, OrderCodec.BLOCK_LENGTH))
+                    == MappedRingBuffer.INSUFFICIENT_CAPACITY) {
+                idle(++spins);
+            }
+            try {
+                encoder.wrap(request.buffer(), index).encode(order);
+                encoder.orderId(i);
+                request.commit();
+            } finally {
+                request.abort();
+            }
+
+            received[0] = -1;
+            spins = 0;
+            while (response.read(handler, 1) == 0) {
+                idle(++spins);
+            }
+            if (received[0] != i) {
+                throw new IllegalStateException("out of order echo: expected " + i + " got " + received[0]);
+            }
+            if (latencies != null) {
+                latencies[i] = System.nanoTime() - start;
+            }
+        }
+    }
+
+    /**
+     * Busy-spins while the peer is expected to answer quickly, then yields so
+     * the benchmark still makes progress when both sides share one core
+     */
+    private static void idle(int spins) {
+        if (spins == 0) {
+            return;
+        }
+        if (spins < SPINS_BEFORE_YIELD) {
+            Thread.onSpinWait();
+        } else {
+            Thread.yield();
+        }
+    }
+
+    private static void report(long[] latencies) {
+        Arrays.sort(latencies);
+        ConsoleLogger.info("round trips: " + latencies.length, "[ipc]");
+        ConsoleLogger.info("p50    " + percentile(latencies, 50.0) + " ns", "[ipc]");
+        ConsoleLogger.info("p90    " + percentile(latencies, 90.0) + " ns", "[ipc]");
+        ConsoleLogger.info("p99    " + percentile(latencies, 99.0) + " ns", "[ipc]");
+        ConsoleLogger.info("p99.9  " + percentile(latencies, 99.9) + " ns", "[ipc]");
+        ConsoleLogger.info("p99.99 " + percentile(latencies, 99.99) + " ns", "[ipc]");
+        ConsoleLogger.info("max    " + latencies[latencies.length - 1] + " ns", "[ipc]");
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
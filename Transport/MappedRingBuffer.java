@@ -0,0 +1,301 @@
+package Transport;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Single-producer / single-consumer ring buffer over a memory-mapped file
+ *
+ * Lets two processes on the same box exchange binary messages without
+ * syscalls on the hot path. Exactly one thread (in any process) may produce
+ * and exactly one may consume.
+ *
+ * File layout:
+ *   0    producer position   long
+ *   8    capacity            int
+ *   64   consumer position   long (own cache line)
+ *   128  data                capacity bytes, power of two
+ *
+ * Each record is an 8-byte header (length, message type id) followed by the
+ * payload, aligned to 8 bytes. The length word is written last with release
+ * semantics and acts as the commit flag; the consumer zeroes records after
+ * reading so a zero length always means "not yet written".
+ *
+ * A claimed record blocks everything behind it until it is published, so a
+ * claim must always end in commit() or abort(), typically:
+ *
+ *   int index = ring.claim(msgTypeId, length);
+ *   if (index != MappedRingBuffer.INSUFFICIENT_CAPACITY) {
+ *       try {
+ *           encoder.wrap(ring.buffer(), index).encode(order);
+ *           ring.commit();
+ *       } finally {
+ *           ring.abort();
+ *       }
+ *   }
+ */
+public final class MappedRingBuffer implements AutoCloseable {
+    public static final int INSUFFICIENT_CAPACITY = -1;
+    public static final int PADDING_MSG_TYPE_ID = -1;
+
+    public static final int HEADER_LENGTH = 8;
+    public static final int ALIGNMENT = 8;
+
+    // Messages are capped at capacity / 8, the smallest ring must still carry the largest codec block
+    private static final int MAX_CODEC_BLOCK_LENGTH =
+        Math.max(OrderCodec.BLOCK_LENGTH, Math.max(DecisionCodec.BLOCK_LENGTH, TickCodec.BLOCK_LENGTH));
+    public static final int MIN_CAPACITY = Integer.highestOneBit(MAX_CODEC_BLOCK_LENGTH * 8 - 1) << 1;
+
+    private static final int PRODUCER_POSITION_OFFSET = 0;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int CONSUMER_POSITION_OFFSET = 64;
+    private static final int DATA_OFFSET = 128;
+
+    private static final int LENGTH_FIELD_OFFSET = 0;
+    private static final int TYPE_FIELD_OFFSET = 4;
+
+    private static final VarHandle INT_VIEW =
+        MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG_VIEW =
+        MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * Callback for messages read from the ring
+     * The buffer region is only valid for the duration of the call
+     */
+    @FunctionalInterface
+    public interface MessageHandler {
+        void onMessage(int msgTypeId, DirectBufferView buffer, int index, int length);
+    }
+
+    private final FileChannel channel;
+    private final ByteBuffer mapped;
+    private final DirectBufferView buffer;
+    private final int capacity;
+    private final int mask;
+    private final int maxMessageLength;
+
+    // Producer-side state, only touched by the producing thread
+    private long producerPosition;
+    private long consumerPositionCache;
+    private int pendingRecordIndex = -1;
+    private int pendingRecordLength;
+
+    // Consumer-side state, only touched by the consuming thread
+    private long consumerPosition;
+
+    private MappedRingBuffer(FileChannel channel, MappedByteBuffer mapped, int capacity) {
+        this.channel = channel;
+        this.mapped = mapped;
+        this.buffer = new DirectBufferView(mapped);
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.maxMessageLength = capacity / 8;
+        this.producerPosition = (long) LONG_VIEW.getAcquire(mapped, PRODUCER_POSITION_OFFSET);
+        this.consumerPosition = (long) LONG_VIEW.getAcquire(mapped, CONSUMER_POSITION_OFFSET);
+        this.consumerPositionCache = consumerPosition;
+    }
+
+    /**
+     * Creates (or truncates) a ring file
+     * Messages are limited to capacity / 8 bytes, so MIN_CAPACITY is the smallest
+     * ring whose limit still fits every codec block (OrderCodec, the largest, is 136 bytes)
+     * @param capacity Size of the data region in bytes, must be a power of two >= MIN_CAPACITY
+     */
+    public static MappedRingBuffer create(Path path, int capacity) throws IOException {
+        if (capacity < MIN_CAPACITY || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two >= " + MIN_CAPACITY + ": " + capacity);
+        }
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) DATA_OFFSET + capacity);
+        INT_VIEW.setRelease(mapped, CAPACITY_OFFSET, capacity);
+        return new MappedRingBuffer(channel, mapped, capacity);
+    }
+
+    /**
+     * Maps an existing ring file created by another process
+     */
+    public static MappedRingBuffer open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        if (size <= DATA_OFFSET) {
+            channel.close();
+            throw new IllegalStateException("not a ring buffer file: " + path);
+        }
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        int capacity = (int) INT_VIEW.getAcquire(mapped, CAPACITY_OFFSET);
+        if (capacity < MIN_CAPACITY || Integer.bitCount(capacity) != 1 || (long) DATA_OFFSET + capacity != size) {
+            channel.close();
+            throw new IllegalStateException("corrupt ring buffer header: " + path);
+        }
+        return new MappedRingBuffer(channel, mapped, capacity);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int maxMessageLength() {
+        return maxMessageLength;
+    }
+
+    /**
+     * The underlying view, claimed regions are encoded through it
+     */
+    public DirectBufferView buffer() {
+        return buffer;
+    }
+
+    /**
+     * Reserves space for a message so it can be encoded in place
+     * Must be followed by commit() or abort() before the next claim
+     * @return Index of the payload in buffer(), or INSUFFICIENT_CAPACITY if the consumer is behind
+     */
+    public int claim(int msgTypeId, int length) {
+        if (msgTypeId < 0) {
+            throw new IllegalArgumentException("message type id must be non-negative: " + msgTypeId);
+        }
+        if (length < 0 || length > maxMessageLength) {
+            throw new IllegalArgumentException("invalid message length: " + length);
+        }
+        if (pendingRecordIndex >= 0) {
+            throw new IllegalStateException("previous claim has not been committed");
+        }
+
+        int recordLength = length + HEADER_LENGTH;
+        int alignedLength = align(recordLength);
+        long tail = producerPosition;
+        int index = (int) (tail & mask);
+        int toEnd = capacity - index;
+        int required = alignedLength <= toEnd ? alignedLength : toEnd + alignedLength;
+
+        if (capacity - (tail - consumerPositionCache) < required) {
+            consumerPositionCache = (long) LONG_VIEW.getAcquire(mapped, CONSUMER_POSITION_OFFSET);
+            if (capacity - (tail - consumerPositionCache) < required) {
+                return INSUFFICIENT_CAPACITY;
+            }
+        }
+
+        if (alignedLength > toEnd) {
+            int paddingIndex = DATA_OFFSET + index;
+            buffer.putInt(paddingIndex + TYPE_FIELD_OFFSET, PADDING_MSG_TYPE_ID);
+            INT_VIEW.setRelease(mapped, paddingIndex + LENGTH_FIELD_OFFSET, toEnd);
+            tail += toEnd;
+            index = 0;
+        }
+
+        int recordIndex = DATA_OFFSET + index;
+        buffer.putInt(recordIndex + TYPE_FIELD_OFFSET, msgTypeId);
+        pendingRecordIndex = recordIndex;
+        pendingRecordLength = recordLength;
+        producerPosition = tail + alignedLength;
+        return recordIndex + HEADER_LENGTH;
+    }
+
+    /**
+     * Publishes the message reserved by the last claim()
+     */
+    public void commit() {
+        if (pendingRecordIndex < 0) {
+            throw new IllegalStateException("nothing has been claimed");
+        }
+        INT_VIEW.setRelease(mapped, pendingRecordIndex + LENGTH_FIELD_OFFSET, pendingRecordLength);
+        LONG_VIEW.setRelease(mapped, PRODUCER_POSITION_OFFSET, producerPosition);
+        pendingRecordIndex = -1;
+    }
+
+    /**
+     * Discards the message reserved by the last claim(), e.g. when encoding it failed
+     * The space is published as padding so the consumer skips it. Does nothing if
+     * there is no pending claim, so it is safe to call from a finally block after commit()
+     * @return true if a pending claim was discarded
+     */
+    public boolean abort() {
+        if (pendingRecordIndex < 0) {
+            return false;
+        }
+        buffer.putInt(pendingRecordIndex + TYPE_FIELD_OFFSET, PADDING_MSG_TYPE_ID);
+        INT_VIEW.setRelease(mapped, pendingRecordIndex + LENGTH_FIELD_OFFSET, pendingRecordLength);
+        LONG_VIEW.setRelease(mapped, PRODUCER_POSITION_OFFSET, producerPosition);
+        pendingRecordIndex = -1;
+        return true;
+    }
+
+    /**
+     * Copies a message into the ring
+     * @return false if the consumer is too far behind to fit the message
+     */
+    public boolean write(int msgTypeId, DirectBufferView src, int srcIndex, int length) {
+        int index = claim(msgTypeId, length);
+        if (index == INSUFFICIENT_CAPACITY) {
+            return false;
+        }
+        try {
+            buffer.putBytes(index, src, srcIndex, length);
+            commit();
+        } finally {
+            abort();
+        }
+        return true;
+    }
+
+    /**
+     * Delivers up to messageCountLimit available messages to the handler
+     * If the handler throws, the failing message is left in the ring
+     * @return Number of messages delivered
+     */
+    public int read(MessageHandler handler, int messageCountLimit) {
+        int messagesRead = 0;
+        long head = consumerPosition;
+        try {
+            while (messagesRead < messageCountLimit) {
+                int recordIndex = DATA_OFFSET + (int) (head & mask);
+                int recordLength = (int) INT_VIEW.getAcquire(mapped, recordIndex + LENGTH_FIELD_OFFSET);
+                if (recordLength <= 0) {
+                    break;
+                }
+                int alignedLength = align(recordLength);
+                int msgTypeId = buffer.getInt(recordIndex + TYPE_FIELD_OFFSET);
+                if (msgTypeId != PADDING_MSG_TYPE_ID) {
+                    handler.onMessage(msgTypeId, buffer, recordIndex + HEADER_LENGTH, recordLength - HEADER_LENGTH);
+                    messagesRead++;
+                }
+                buffer.setMemory(recordIndex, alignedLength, (byte) 0);
+                head += alignedLength;
+            }
+        } finally {
+            if (head != consumerPosition) {
+                consumerPosition = head;
+                LONG_VIEW.setRelease(mapped, CONSUMER_POSITION_OFFSET, head);
+            }
+        }
+        return messagesRead;
+    }
+
+    /**
+     * Bytes written but not yet consumed, approximate when called off the producer/consumer threads
+     */
+    public int size() {
+        long head = (long) LONG_VIEW.getAcquire(mapped, CONSUMER_POSITION_OFFSET);
+        long tail = (long) LONG_VIEW.getAcquire(mapped, PRODUCER_POSITION_OFFSET);
+        return (int) (tail - head);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static int align(int length) {
+        return (length + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+}
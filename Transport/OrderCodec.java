@@ -0,0 +1,307 @@
+package Transport;
+
+import Modules.Order;
+import Modules.Order.OrderSide;
+import Modules.Order.OrderStatus;
+import Modules.Order.OrderType;
+import Modules.Order.TimeInForce;
+
+/**
+ * Fixed-layout binary codec for Order
+ *
+ * Layout (little-endian, BLOCK_LENGTH bytes):
+ *   0  symbol                 16 bytes ASCII, zero padded, longer values are rejected
+ *  16  side                   byte, enum ordinal or NULL_ENUM
+ *  17  type                   byte, enum ordinal or NULL_ENUM
+ *  18  timeInForce            byte, enum ordinal or NULL_ENUM
+ *  19  status                 byte, enum ordinal or NULL_ENUM
+ *  24  quantity               double, NaN when null
+ *  32  price                  double, NaN when null
+ *  40  stopPrice              double, NaN when null
+ *  48  icebergQty             double, NaN when null
+ *  56  executedQty            double, NaN when null
+ *  64  cummulativeQuoteQty    double, NaN when null
+ *  72  timestamp              long, NULL_LONG when null
+ *  80  recvWindow             long, NULL_LONG when null
+ *  88  orderId                long, NULL_LONG when null
+ *  96  newClientOrderId       36 bytes ASCII, zero padded, longer values are rejected
+ */
+public final class OrderCodec {
+    private OrderCodec() {}
+
+    public static final int TEMPLATE_ID = 1;
+    public static final int BLOCK_LENGTH = 136;
+
+    public static final byte NULL_ENUM = -1;
+    public static final long NULL_LONG = Long.MIN_VALUE;
+
+    public static final int SYMBOL_LENGTH = 16;
+    public static final int CLIENT_ORDER_ID_LENGTH = 36;
+
+    private static final int SYMBOL_OFFSET = 0;
+    private static final int SIDE_OFFSET = 16;
+    private static final int TYPE_OFFSET = 17;
+    private static final int TIME_IN_FORCE_OFFSET = 18;
+    private static final int STATUS_OFFSET = 19;
+    private static final int QUANTITY_OFFSET = 24;
+    private static final int PRICE_OFFSET = 32;
+    private static final int STOP_PRICE_OFFSET = 40;
+    private static final int ICEBERG_QTY_OFFSET = 48;
+    private static final int EXECUTED_QTY_OFFSET = 56;
+    private static final int CUMMULATIVE_QUOTE_QTY_OFFSET = 64;
+    private static final int TIMESTAMP_OFFSET = 72;
+    private static final int RECV_WINDOW_OFFSET = 80;
+    private static final int ORDER_ID_OFFSET = 88;
+    private static final int CLIENT_ORDER_ID_OFFSET = 96;
+
+    // Enum values are cached once, Enum.values() clones the array on every call
+    private static final OrderSide[] SIDES = OrderSide.values();
+    private static final OrderType[] TYPES = OrderType.values();
+    private static final TimeInForce[] TIME_IN_FORCES = TimeInForce.values();
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    /**
+     * Flyweight encoder, wrap it over a buffer region and set fields in place
+     */
+    public static final class Encoder {
+        private DirectBufferView buffer;
+        private int offset;
+
+        public Encoder wrap(DirectBufferView buffer, int offset) {
+            this.buffer = buffer;
+            this.offset = offset;
+            return this;
+        }
+
+        public int encodedLength() {
+            return BLOCK_LENGTH;
+        }
+
+        public Encoder symbol(String symbol) {
+            buffer.putFixedAscii(offset + SYMBOL_OFFSET, SYMBOL_LENGTH, symbol);
+            return this;
+        }
+
+        public Encoder side(OrderSide side) {
+            buffer.putByte(offset + SIDE_OFFSET, ordinal(side));
+            return this;
+        }
+
+        public Encoder type(OrderType type) {
+            buffer.putByte(offset + TYPE_OFFSET, ordinal(type));
+            return this;
+        }
+
+        public Encoder timeInForce(TimeInForce timeInForce) {
+            buffer.putByte(offset + TIME_IN_FORCE_OFFSET, ordinal(timeInForce));
+            return this;
+        }
+
+        public Encoder status(OrderStatus status) {
+            buffer.putByte(offset + STATUS_OFFSET, ordinal(status));
+            return this;
+        }
+
+        public Encoder quantity(double quantity) {
+            buffer.putDouble(offset + QUANTITY_OFFSET, quantity);
+            return this;
+        }
+
+        public Encoder price(double price) {
+            buffer.putDouble(offset + PRICE_OFFSET, price);
+            return this;
+        }
+
+        public Encoder stopPrice(double stopPrice) {
+            buffer.putDouble(offset + STOP_PRICE_OFFSET, stopPrice);
+            return this;
+        }
+
+        public Encoder icebergQty(double icebergQty) {
+            buffer.putDouble(offset + ICEBERG_QTY_OFFSET, icebergQty);
+            return this;
+        }
+
+        public Encoder executedQty(double executedQty) {
+            buffer.putDouble(offset + EXECUTED_QTY_OFFSET, executedQty);
+            return this;
+        }
+
+        public Encoder cummulativeQuoteQty(double cummulativeQuoteQty) {
+            buffer.putDouble(offset + CUMMULATIVE_QUOTE_QTY_OFFSET, cummulativeQuoteQty);
+            return this;
+        }
+
+        public Encoder timestamp(long timestamp) {
+            buffer.putLong(offset + TIMESTAMP_OFFSET, timestamp);
+            return this;
+        }
+
+        public Encoder recvWindow(long recvWindow) {
+            buffer.putLong(offset + RECV_WINDOW_OFFSET, recvWindow);
+            return this;
+        }
+
+        public Encoder orderId(long orderId) {
+            buffer.putLong(offset + ORDER_ID_OFFSET, orderId);
+            return this;
+        }
+
+        public Encoder newClientOrderId(String newClientOrderId) {
+            buffer.putFixedAscii(offset + CLIENT_ORDER_ID_OFFSET, CLIENT_ORDER_ID_LENGTH, newClientOrderId);
+            return this;
+        }
+
+        /**
+         * Encodes every field of an Order, null fields are written as their null sentinel
+         * Text fields are validated first so a rejected order leaves the buffer untouched
+         * @return The encoded length in bytes
+         * @throws IllegalArgumentException if symbol or newClientOrderId does not fit its field
+         */
+        public int encode(Order order) {
+            DirectBufferView.checkFixedAscii(SYMBOL_LENGTH, order.getSymbol());
+            DirectBufferView.checkFixedAscii(CLIENT_ORDER_ID_LENGTH, order.getNewClientOrderId());
+            symbol(order.getSymbol());
+            side(order.getSide());
+            type(order.getType());
+            timeInForce(order.getTimeInForce());
+            status(order.getStatus());
+            quantity(toDouble(order.getQuantity()));
+            price(toDouble(order.getPrice()));
+            stopPrice(toDouble(order.getStopPrice()));
+            icebergQty(toDouble(order.getIcebergQty()));
+            executedQty(toDouble(order.getExecutedQty()));
+            cummulativeQuoteQty(toDouble(order.getCummulativeQuoteQty()));
+            timestamp(toLong(order.getTimestamp()));
+            recvWindow(toLong(order.getRecvWindow()));
+            orderId(toLong(order.getOrderId()));
+            newClientOrderId(order.getNewClientOrderId());
+            return BLOCK_LENGTH;
+        }
+    }
+
+    /**
+     * Flyweight decoder, reads fields straight from the wrapped buffer region
+     */
+    public static final class Decoder {
+        private DirectBufferView buffer;
+        private int offset;
+
+        public Decoder wrap(DirectBufferView buffer, int offset) {
+            this.buffer = buffer;
+            this.offset = offset;
+            return this;
+        }
+
+        public String symbol() {
+            return buffer.getFixedAscii(offset + SYMBOL_OFFSET, SYMBOL_LENGTH);
+        }
+
+        public boolean symbolEquals(String symbol) {
+            return buffer.fixedAsciiEquals(offset + SYMBOL_OFFSET, SYMBOL_LENGTH, symbol);
+        }
+
+        public OrderSide side() {
+            return lookup(SIDES, buffer.getByte(offset + SIDE_OFFSET));
+        }
+
+        public OrderType type() {
+            return lookup(TYPES, buffer.getByte(offset + TYPE_OFFSET));
+        }
+
+        public TimeInForce timeInForce() {
+            return lookup(TIME_IN_FORCES, buffer.getByte(offset + TIME_IN_FORCE_OFFSET));
+        }
+
+        public OrderStatus status() {
+            return lookup(STATUSES, buffer.getByte(offset + STATUS_OFFSET));
+        }
+
+        public double quantity() {
+            return buffer.getDouble(offset + QUANTITY_OFFSET);
+        }
+
+        public double price() {
+            return buffer.getDouble(offset + PRICE_OFFSET);
+        }
+
+        public double stopPrice() {
+            return buffer.getDouble(offset + STOP_PRICE_OFFSET);
+        }
+
+        public double icebergQty() {
+            return buffer.getDouble(offset + ICEBERG_QTY_OFFSET);
+        }
+
+        public double executedQty() {
+            return buffer.getDouble(offset + EXECUTED_QTY_OFFSET);
+        }
+
+        public double cummulativeQuoteQty() {
+            return buffer.getDouble(offset + CUMMULATIVE_QUOTE_QTY_OFFSET);
+        }
+
+        public long timestamp() {
+            return buffer.getLong(offset + TIMESTAMP_OFFSET);
+        }
+
+        public long recvWindow() {
+            return buffer.getLong(offset + RECV_WINDOW_OFFSET);
+        }
+
+        public long orderId() {
+            return buffer.getLong(offset + ORDER_ID_OFFSET);
+        }
+
+        public String newClientOrderId() {
+            return buffer.getFixedAscii(offset + CLIENT_ORDER_ID_OFFSET, CLIENT_ORDER_ID_LENGTH);
+        }
+
+        /**
+         * Copies the decoded fields into an existing Order, null sentinels become null
+         * @return The same order instance
+         */
+        public Order decodeInto(Order order) {
+            order.setSymbol(symbol());
+            order.setSide(side());
+            order.setType(type());
+            order.setTimeInForce(timeInForce());
+            order.setStatus(status());
+            order.setQuantity(toBoxed(quantity()));
+            order.setPrice(toBoxed(price()));
+            order.setStopPrice(toBoxed(stopPrice()));
+            order.setIcebergQty(toBoxed(icebergQty()));
+            order.setExecutedQty(toBoxed(executedQty()));
+            order.setCummulativeQuoteQty(toBoxed(cummulativeQuoteQty()));
+            order.setTimestamp(toBoxed(timestamp()));
+            order.setRecvWindow(toBoxed(recvWindow()));
+            order.setOrderId(toBoxed(orderId()));
+            order.setNewClientOrderId(newClientOrderId());
+            return order;
+        }
+    }
+
+    private static byte ordinal(Enum<?> value) {
+        return value == null ? NULL_ENUM : (byte) value.ordinal();
+    }
+
+    private static <E> E lookup(E[] values, byte ordinal) {
+        return ordinal < 0 || ordinal >= values.length ? null : values[ordinal];
+    }
+
+    private static double toDouble(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+
+    private static long toLong(Long value) {
+        return value == null ? NULL_LONG : value;
+    }
+
+    private static Double toBoxed(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private static Long toBoxed(long value) {
+        return value == NULL_LONG ? null : value;
+    }
+}
@@ -0,0 +1,126 @@
+package Transport;
+
+/**
+ * Fixed-layout binary codec for market trade ticks
+ * There is no Tick class, the flyweights themselves are the representation
+ *
+ * Layout (little-endian, BLOCK_LENGTH bytes):
+ *   0  symbol          16 bytes ASCII, zero padded, longer values are rejected
+ *  16  price           double
+ *  24  quantity        double
+ *  32  eventTime       long, epoch milliseconds
+ *  40  tradeId         long
+ *  48  buyerMaker      byte, 1 if the buyer was the maker
+ */
+public final class TickCodec {
+    private TickCodec() {}
+
+    public static final int TEMPLATE_ID = 3;
+    public static final int BLOCK_LENGTH = 56;
+
+    public static final int SYMBOL_LENGTH = 16;
+
+    private static final int SYMBOL_OFFSET = 0;
+    private static final int PRICE_OFFSET = 16;
+    private static final int QUANTITY_OFFSET = 24;
+    private static final int EVENT_TIME_OFFSET = 32;
+    private static final int TRADE_ID_OFFSET = 40;
+    private static final int BUYER_MAKER_OFFSET = 48;
+
+    /**
+     * Flyweight encoder, wrap it over a buffer region and set fields in place
+     */
+    public static final class Encoder {
+        private DirectBufferView buffer;
+        private int offset;
+
+        public Encoder wrap(DirectBufferView buffer, int offset) {
+            this.buffer = buffer;
+            this.offset = offset;
+            return this;
+        }
+
+        public int encodedLength() {
+            return BLOCK_LENGTH;
+        }
+
+        public Encoder symbol(String symbol) {
+            buffer.putFixedAscii(offset + SYMBOL_OFFSET, SYMBOL_LENGTH, symbol);
+            return this;
+        }
+
+        public Encoder price(double price) {
+            buffer.putDouble(offset + PRICE_OFFSET, price);
+            return this;
+        }
+
+        public Encoder quantity(double quantity) {
+            buffer.putDouble(offset + QUANTITY_OFFSET, quantity);
+            return this;
+        }
+
+        public Encoder eventTime(long eventTime) {
+            buffer.putLong(offset + EVENT_TIME_OFFSET, eventTime);
+            return this;
+        }
+
+        public Encoder tradeId(long tradeId) {
+            buffer.putLong(offset + TRADE_ID_OFFSET, tradeId);
+            return this;
+        }
+
+        public Encoder buyerMaker(boolean buyerMaker) {
+            buffer.putByte(offset + BUYER_MAKER_OFFSET, (byte) (buyerMaker ? 1 : 0));
+            return this;
+        }
+    }
+
+    /**
+     * Flyweight decoder, reads fields straight from the wrapped buffer region
+     */
+    public static final class Decoder {
+        private DirectBufferView buffer;
+        private int offset;
+
+        public Decoder wrap(DirectBufferView buffer, int offset) {
+            this.buffer = buffer;
+            this.offset = offset;
+            return this;
+        }
+
+        public String symbol() {
+            return buffer.getFixedAscii(offset + SYMBOL_OFFSET, SYMBOL_LENGTH);
+        }
+
+        public boolean symbolEquals(String symbol) {
+            return buffer.fixedAsciiEquals(offset + SYMBOL_OFFSET, SYMBOL_LENGTH, symbol);
+        }
+
+        /**
+         * Hash of the symbol bytes, equal to AsciiHash.hash(symbol())
+         */
+        public int symbolHash() {
+            return buffer.fixedAsciiHash(offset + SYMBOL_OFFSET, SYMBOL_LENGTH);
+        }
+
+        public double price() {
+            return buffer.getDouble(offset + PRICE_OFFSET);
+        }
+
+        public double quantity() {
+            return buffer.getDouble(offset + QUANTITY_OFFSET);
+        }
+
+        public long eventTime() {
+            return buffer.getLong(offset + EVENT_TIME_OFFSET);
+        }
+
+        public long tradeId() {
+            return buffer.getLong(offset + TRADE_ID_OFFSET);
+        }
+
+        public boolean buyerMaker() {
+            return buffer.getByte(offset + BUYER_MAKER_OFFSET) != 0;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package utilitis;
+
+/**
+ * FNV-1a hash over ASCII text, shared by the open-addressing tables keyed on raw bytes
+ *
+ * The result has its high bits folded into the low ones, since the tables mask
+ * it down to a power-of-two size. hash(byte[], ...) and hash(String) agree for
+ * the same ASCII text; code walking other storage (e.g. a field of a ByteBuffer)
+ * feeds its bytes through SEED, update and finish to get the same value.
+ */
+public final class AsciiHash {
+    private AsciiHash() {}
+
+    public static final int SEED = 0x811C9DC5;
+    private static final int PRIME = 0x01000193;
+
+    public static int update(int hash, byte value) {
+        return (hash ^ value) * PRIME;
+    }
+
+    public static int finish(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    public static int hash(byte[] buffer, int offset, int length) {
+        int h = SEED;
+        for (int i = offset; i < offset + length; i++) {
+            h = update(h, buffer[i]);
+        }
+        return finish(h);
+    }
+
+    public static int hash(String value) {
+        int h = SEED;
+        for (int i = 0; i < value.length(); i++) {
+            h = update(h, (byte) value.charAt(i));
+        }
+        return finish(h);
+    }
+}
@@ -0,0 +1,318 @@
+package utilitis;
+
+import java.util.Arrays;
+
+/**
+ * Hashed timing wheel
+ *
+ * Timers are hashed by deadline tick into a fixed number of spokes. Each spoke
+ * owns its own slot arrays plus a free list, so schedule and cancel are O(1)
+ * (amortised: a full spoke doubles its own arrays, other spokes are unaffected)
+ * and no task object is created per timer. Deadlines further away than one
+ * rotation simply stay in their spoke until the wheel comes round to them.
+ * poll() skips empty spokes and otherwise visits every slot of the spoke it is
+ * on, so its cost follows the peak occupancy of that spoke, not the timer count.
+ * Timers scheduled from an expiry handler never fire in the poll that is running,
+ * only from the next one on, so a handler that reschedules itself cannot keep
+ * one poll() busy.
+ *
+ * Timer ids are plain non-negative longs: the slot's generation in the high 32
+ * bits, slot and spoke in the low 32. The generation moves on every time a slot
+ * is freed, so a stale id (timer already fired or cancelled) never matches the
+ * timer that reuses its slot.
+ * Time is in whatever unit the caller uses consistently (e.g. epoch millis).
+ *
+ * Not thread-safe: schedule, cancel and poll from the owning thread.
+ *
+ * @param <T> Type of the object attached to each timer
+ */
+public final class TimerWheel<T> {
+    public static final long NULL_TIMER = -1L;
+
+    private static final long NULL_DEADLINE = Long.MAX_VALUE;
+    private static final int INITIAL_TICK_ALLOCATION = 16;
+    private static final int GENERATION_MASK = 0x7FFFFFFF;
+
+    /**
+     * Callback for expired timers
+     * It may schedule or cancel timers on the same wheel
+     */
+    @FunctionalInterface
+    public interface ExpiryHandler<T> {
+        void onExpiry(long timerId, T attachment);
+    }
+
+    private final long startTime;
+    private final long tickResolution;
+    private final int resolutionBitsToShift;
+    private final int ticksPerWheel;
+    private final int wheelMask;
+    private final int spokeBits;
+    private final int maxSlotsPerSpoke;
+
+    // Per spoke: slot columns, free list threaded through nextFree, and live count
+    private final long[][] deadlines;
+    private final Object[][] attachments;
+    private final int[][] generations;
+    private final long[][] scheduledInPoll;
+    private final int[][] nextFree;
+    private final int[] freeHead;
+    private final int[] spokeCount;
+
+    private long currentTick;
+    private int pollIndex;
+    private int timerCount;
+
+    // Poll number stamped on each timer; timers stamped with the running poll are left for the next one
+    private long pollNumber;
+    private boolean polling;
+    private long pollNow;
+    // Earliest tick holding a timer a handler scheduled already due, the running poll stops there
+    private long deferredTick;
+
+    /**
+     * @param startTime Time the wheel starts counting ticks from
+     * @param tickResolution Duration of one tick, must be a power of two
+     * @param ticksPerWheel Number of spokes, must be a power of two
+     */
+    public TimerWheel(long startTime, long tickResolution, int ticksPerWheel) {
+        this(startTime, tickResolution, ticksPerWheel, INITIAL_TICK_ALLOCATION);
+    }
+
+    /**
+     * @param initialTickAllocation Timer slots per spoke before that spoke grows, must be a power of two
+     */
+    public TimerWheel(long startTime, long tickResolution, int ticksPerWheel, int initialTickAllocation) {
+        checkPowerOfTwo("tickResolution", tickResolution);
+        checkPowerOfTwo("ticksPerWheel", ticksPerWheel);
+        checkPowerOfTwo("initialTickAllocation", initialTickAllocation);
+
+        this.startTime = startTime;
+        this.tickResolution = tickResolution;
+        this.resolutionBitsToShift = Long.numberOfTrailingZeros(tickResolution);
+        this.ticksPerWheel = ticksPerWheel;
+        this.wheelMask = ticksPerWheel - 1;
+        this.spokeBits = Integer.numberOfTrailingZeros(ticksPerWheel);
+        this.maxSlotsPerSpoke = 1 << (31 - spokeBits);
+        if (initialTickAllocation > maxSlotsPerSpoke) {
+            throw new IllegalArgumentException("initialTickAllocation too large for " + ticksPerWheel + " spokes");
+        }
+
+        this.deadlines = new long[ticksPerWheel][];
+        this.attachments = new Object[ticksPerWheel][];
+        this.generations = new int[ticksPerWheel][];
+        this.scheduledInPoll = new long[ticksPerWheel][];
+        this.nextFree = new int[ticksPerWheel][];
+        this.freeHead = new int[ticksPerWheel];
+        this.spokeCount = new int[ticksPerWheel];
+        for (int spoke = 0; spoke < ticksPerWheel; spoke++) {
+            deadlines[spoke] = new long[initialTickAllocation];
+            attachments[spoke] = new Object[initialTickAllocation];
+            generations[spoke] = new int[initialTickAllocation];
+            scheduledInPoll[spoke] = new long[initialTickAllocation];
+            nextFree[spoke] = new int[initialTickAllocation];
+            Arrays.fill(deadlines[spoke], NULL_DEADLINE);
+            linkFreeSlots(spoke, 0, initialTickAllocation, -1);
+        }
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public long getTickResolution() {
+        return tickResolution;
+    }
+
+    public int getTicksPerWheel() {
+        return ticksPerWheel;
+    }
+
+    public int timerCount() {
+        return timerCount;
+    }
+
+    /**
+     * Time at which the wheel moves on to the next tick
+     */
+    public long currentTickTime() {
+        return ((currentTick + 1) << resolutionBitsToShift) + startTime;
+    }
+
+    /**
+     * Schedules a timer, deadlines in the past expire on the next poll
+     * Called from an expiry handler, the timer is not expired before the next poll() call
+     * @return Timer id to cancel with
+     */
+    public long schedule(long deadline, T attachment) {
+        long deadlineTick = Math.max((deadline - startTime) >> resolutionBitsToShift, currentTick);
+        int spoke = (int) (deadlineTick & wheelMask);
+        if (freeHead[spoke] < 0) {
+            growSpoke(spoke);
+        }
+        int slot = freeHead[spoke];
+        freeHead[spoke] = nextFree[spoke][slot];
+        deadlines[spoke][slot] = deadline;
+        attachments[spoke][slot] = attachment;
+        scheduledInPoll[spoke][slot] = pollNumber;
+        spokeCount[spoke]++;
+        timerCount++;
+        if (polling && deadline <= pollNow && deadlineTick < deferredTick) {
+            deferredTick = deadlineTick;
+        }
+        return timerId(spoke, slot, generations[spoke][slot]);
+    }
+
+    /**
+     * @return true if the timer was pending and is now cancelled, false for stale or unknown ids
+     */
+    public boolean cancel(long timerId) {
+        int spoke = spokeOf(timerId);
+        int slot = slotOf(timerId);
+        if (!isPending(timerId, spoke, slot)) {
+            return false;
+        }
+        release(spoke, slot);
+        return true;
+    }
+
+    /**
+     * @return The deadline of a pending timer, or NULL_TIMER if it is not pending
+     */
+    public long deadline(long timerId) {
+        int spoke = spokeOf(timerId);
+        int slot = slotOf(timerId);
+        if (!isPending(timerId, spoke, slot)) {
+            return NULL_TIMER;
+        }
+        return deadlines[spoke][slot];
+    }
+
+    /**
+     * Expires every timer due by now, walking ticks until the wheel catches up or the limit is reached
+     * Timers the handler schedules are left for the next poll; if one is already due, the wheel
+     * stops on its tick so the next poll finds it
+     * @param expiryLimit Maximum number of timers to expire in this call
+     * @return Number of timers expired
+     */
+    @SuppressWarnings("unchecked")
+    public int poll(long now, ExpiryHandler<T> handler, int expiryLimit) {
+        int timersExpired = 0;
+        long poll = ++pollNumber;
+        polling = true;
+        pollNow = now;
+        deferredTick = Long.MAX_VALUE;
+        try {
+            while (timersExpired < expiryLimit) {
+                if (timerCount == 0) {
+                    // Nothing to expire, jump straight to the current tick
+                    long nowTick = (now - startTime) >> resolutionBitsToShift;
+                    if (nowTick > currentTick) {
+                        currentTick = nowTick;
+                        pollIndex = 0;
+                    }
+                    break;
+                }
+
+                int spoke = (int) (currentTick & wheelMask);
+                if (spokeCount[spoke] > 0) {
+                    // Arrays are re-read every step since the handler may grow this spoke
+                    int width = deadlines[spoke].length;
+                    for (int i = 0; i < width && timersExpired < expiryLimit; i++) {
+                        int slot = pollIndex;
+                        if (deadlines[spoke][slot] <= now && scheduledInPoll[spoke][slot] != poll) {
+                            T attachment = (T) attachments[spoke][slot];
+                            long timerId = timerId(spoke, slot, generations[spoke][slot]);
+                            release(spoke, slot);
+                            timersExpired++;
+                            handler.onExpiry(timerId, attachment);
+                        }
+                        pollIndex = pollIndex + 1 >= width ? 0 : pollIndex + 1;
+                    }
+                }
+
+                if (timersExpired < expiryLimit && now >= currentTickTime() && currentTick < deferredTick) {
+                    currentTick++;
+                    pollIndex = 0;
+                } else {
+                    break;
+                }
+            }
+        } finally {
+            polling = false;
+        }
+        return timersExpired;
+    }
+
+    /**
+     * Cancels every pending timer, outstanding ids all become stale
+     */
+    public void clear() {
+        for (int spoke = 0; spoke < ticksPerWheel; spoke++) {
+            for (int slot = 0; slot < deadlines[spoke].length; slot++) {
+                if (deadlines[spoke][slot] != NULL_DEADLINE) {
+                    release(spoke, slot);
+                }
+            }
+        }
+    }
+
+    private void release(int spoke, int slot) {
+        deadlines[spoke][slot] = NULL_DEADLINE;
+        attachments[spoke][slot] = null;
+        generations[spoke][slot] = (generations[spoke][slot] + 1) & GENERATION_MASK;
+        nextFree[spoke][slot] = freeHead[spoke];
+        freeHead[spoke] = slot;
+        spokeCount[spoke]--;
+        timerCount--;
+    }
+
+    private void growSpoke(int spoke) {
+        int width = deadlines[spoke].length;
+        if (width >= maxSlotsPerSpoke) {
+            throw new IllegalStateException("too many timers in one spoke: " + width);
+        }
+        int newWidth = width << 1;
+        deadlines[spoke] = Arrays.copyOf(deadlines[spoke], newWidth);
+        attachments[spoke] = Arrays.copyOf(attachments[spoke], newWidth);
+        generations[spoke] = Arrays.copyOf(generations[spoke], newWidth);
+        scheduledInPoll[spoke] = Arrays.copyOf(scheduledInPoll[spoke], newWidth);
+        nextFree[spoke] = Arrays.copyOf(nextFree[spoke], newWidth);
+        Arrays.fill(deadlines[spoke], width, newWidth, NULL_DEADLINE);
+        // Slots keep their index, so existing timer ids stay valid
+        linkFreeSlots(spoke, width, newWidth, freeHead[spoke]);
+    }
+
+    private void linkFreeSlots(int spoke, int from, int to, int tail) {
+        for (int slot = to - 1; slot >= from; slot--) {
+            nextFree[spoke][slot] = tail;
+            tail = slot;
+        }
+        freeHead[spoke] = tail;
+    }
+
+    private boolean isPending(long timerId, int spoke, int slot) {
+        return timerId >= 0
+            && slot < deadlines[spoke].length
+            && deadlines[spoke][slot] != NULL_DEADLINE
+            && generations[spoke][slot] == (int) (timerId >>> 32);
+    }
+
+    private long timerId(int spoke, int slot, int generation) {
+        return ((long) generation << 32) | ((long) slot << spokeBits) | spoke;
+    }
+
+    private int spokeOf(long timerId) {
+        return (int) timerId & wheelMask;
+    }
+
+    private int slotOf(long timerId) {
+        return (int) ((timerId & 0xFFFFFFFFL) >>> spokeBits);
+    }
+
+    private static void checkPowerOfTwo(String name, long value) {
+        if (value < 1 || Long.bitCount(value) != 1) {
+            throw new IllegalArgumentException(name + " must be a power of two: " + value);
+        }
+    }
+}
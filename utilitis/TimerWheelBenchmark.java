@@ -0,0 +1,112 @@
+package utilitis;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Random;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedule / cancel / expire cost of TimerWheel with 100k concurrent timers,
+ * next to schedule / cancel on a ScheduledThreadPoolExecutor
+ *
+ * The wheel runs on simulated millisecond time so expiry is measured without
+ * sleeping; deadlines are spread over 30 s like recvWindow and cancel-after timers.
+ */
+public final class TimerWheelBenchmark {
+    private TimerWheelBenchmark() {}
+
+    private static final int TIMERS = 100_000;
+    private static final long HORIZON_MILLIS = 30_000L;
+    private static final long TICK_MILLIS = 8L;
+    private static final int TICKS_PER_WHEEL = 1024;
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) throws Exception {
+        long[] delays = new long[TIMERS];
+        Random random = new Random(42);
+        for (int i = 0; i < TIMERS; i++) {
+            delays[i] = 1 + (long) (random.nextDouble() * HORIZON_MILLIS);
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            boolean last = round == ROUNDS - 1;
+            wheel(delays, last);
+            executor(delays, last);
+        }
+    }
+
+    private static void wheel(long[] delays, boolean report) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long[] timerIds = new long[TIMERS];
+        long[] expired = new long[1];
+        TimerWheel.ExpiryHandler<Object> handler = (timerId, attachment) -> expired[0]++;
+        Object attachment = new Object();
+        long now = 0;
+        TimerWheel<Object> wheel = new TimerWheel<>(now, TICK_MILLIS, TICKS_PER_WHEEL);
+
+        long allocatedBefore = allocatedBytes(threads);
+        long start = System.nanoTime();
+        for (int i = 0; i < TIMERS; i++) {
+            timerIds[i] = wheel.schedule(now + delays[i], attachment);
+        }
+        long scheduled = System.nanoTime();
+        for (int i = 0; i < TIMERS; i += 2) {
+            wheel.cancel(timerIds[i]);
+        }
+        long cancelled = System.nanoTime();
+        while (wheel.timerCount() > 0) {
+            now += TICK_MILLIS;
+            wheel.poll(now, handler, Integer.MAX_VALUE);
+        }
+        long drained = System.nanoTime();
+        long allocated = allocatedBytes(threads) - allocatedBefore;
+
+        if (report) {
+            ConsoleLogger.info(String.format("wheel    schedule %6.1f ns/op  cancel %6.1f ns/op  expire %6.1f ns/op  "
+                    + "(%d expired)  %.1f bytes/timer",
+                (double) (scheduled - start) / TIMERS,
+                (double) (cancelled - scheduled) / (TIMERS / 2),
+                (double) (drained - cancelled) / expired[0],
+                expired[0],
+                (double) allocated / TIMERS), "[timers]");
+        }
+    }
+
+    private static void executor(long[] delays, boolean report) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        ScheduledFuture<?>[] futures = new ScheduledFuture<?>[TIMERS];
+        Runnable task = () -> { };
+
+        long allocatedBefore = allocatedBytes(threads);
+        long start = System.nanoTime();
+        for (int i = 0; i < TIMERS; i++) {
+            futures[i] = executor.schedule(task, delays[i] + HORIZON_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        long scheduled = System.nanoTime();
+        for (int i = 0; i < TIMERS; i += 2) {
+            futures[i].cancel(false);
+        }
+        long cancelled = System.nanoTime();
+        long allocated = allocatedBytes(threads) - allocatedBefore;
+        executor.shutdownNow();
+
+        if (report) {
+            ConsoleLogger.info(String.format("executor schedule %6.1f ns/op  cancel %6.1f ns/op  "
+                    + "(expiry not measured, needs wall-clock time)  %.1f bytes/timer",
+                (double) (scheduled - start) / TIMERS,
+                (double) (cancelled - scheduled) / (TIMERS / 2),
+                (double) allocated / TIMERS), "[timers]");
+        }
+    }
+
+    private static long allocatedBytes(ThreadMXBean threads) {
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+}